@@ -0,0 +1,115 @@
+package raisetech.StudentManagement.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import raisetech.StudentManagement.data.StudentCourse;
+
+/**
+ * 同時に届いた検索リクエストを、固定数のプラットフォームスレッドと仮想スレッドのそれぞれで処理した時の所要時間を比較します。
+ * 各リクエストはコネクションプール（HikariCP）から接続を取得し、インメモリのH2（MySQLモード）に受講開始日の範囲検索を行います。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ConcurrentRequestBenchmark {
+
+  private static final int REQUESTS = 500;
+  private static final int PLATFORM_THREADS = 10;
+  private static final LocalDateTime FROM = LocalDateTime.of(2023, 4, 1, 0, 0);
+  private static final LocalDateTime TO = LocalDateTime.of(2023, 6, 30, 23, 59);
+
+  @Param({"platform", "virtual"})
+  private String threads;
+
+  private HikariDataSource dataSource;
+  private ExecutorService executor;
+
+  @Setup
+  public void setUp() throws SQLException {
+    HikariConfig config = new HikariConfig();
+    config.setJdbcUrl("jdbc:h2:mem:concurrent-request;DB_CLOSE_DELAY=-1;MODE=MySQL");
+    dataSource = new HikariDataSource(config);
+
+    try (Connection connection = dataSource.getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE IF NOT EXISTS students_courses (id INT PRIMARY KEY,"
+          + " student_id INT, course_name VARCHAR(50), course_start_at TIMESTAMP,"
+          + " course_end_at TIMESTAMP)");
+      statement.execute("CREATE INDEX IF NOT EXISTS idx_students_courses_course_start_at"
+          + " ON students_courses (course_start_at)");
+      statement.execute("DELETE FROM students_courses");
+      try (PreparedStatement insert = connection.prepareStatement(
+          "INSERT INTO students_courses VALUES (?, ?, ?, ?, ?)")) {
+        for (StudentCourse course : new StudentBenchmarkData(10000).getCourses()) {
+          insert.setInt(1, course.getId());
+          insert.setInt(2, Integer.parseInt(course.getStudentId()));
+          insert.setString(3, course.getCourseName());
+          insert.setTimestamp(4, Timestamp.valueOf(course.getCourseStartAt()));
+          insert.setTimestamp(5, Timestamp.valueOf(course.getCourseEndAt()));
+          insert.addBatch();
+        }
+        insert.executeBatch();
+      }
+    }
+
+    executor = threads.equals("virtual") ? Executors.newVirtualThreadPerTaskExecutor()
+        : Executors.newFixedThreadPool(PLATFORM_THREADS);
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.close();
+    dataSource.close();
+  }
+
+  @Benchmark
+  public int concurrentRequests() throws Exception {
+    List<Future<Integer>> futures = new ArrayList<>(REQUESTS);
+    for (int i = 0; i < REQUESTS; i++) {
+      futures.add(executor.submit(this::findCoursesByStartDateRange));
+    }
+    int total = 0;
+    for (Future<Integer> future : futures) {
+      total += future.get();
+    }
+    return total;
+  }
+
+  private int findCoursesByStartDateRange() throws SQLException {
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement query = connection.prepareStatement(
+            "SELECT * FROM students_courses WHERE course_start_at BETWEEN ? AND ?")) {
+      query.setTimestamp(1, Timestamp.valueOf(FROM));
+      query.setTimestamp(2, Timestamp.valueOf(TO));
+      int count = 0;
+      try (ResultSet resultSet = query.executeQuery()) {
+        while (resultSet.next()) {
+          count++;
+        }
+      }
+      return count;
+    }
+  }
+}
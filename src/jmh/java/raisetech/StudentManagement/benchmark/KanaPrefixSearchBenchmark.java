@@ -0,0 +1,106 @@
+package raisetech.StudentManagement.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import raisetech.StudentManagement.controller.converter.StudentConverter;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.domain.StudentDetailPage;
+import raisetech.StudentManagement.snapshot.StudentSnapshot;
+
+/**
+ * フリガナの前方一致検索について、スナップショットのフリガナの索引と、SQLのLIKEによる検索の処理時間を比較します。
+ * SQLはインメモリのH2（MySQLモード）に kana_name のインデックスを作成して実行するので、通信を除いたデータベース側の検索コストを計測します。
+ * どちらも受講生ID順の先頭から {@link #LIMIT} 件を取得します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class KanaPrefixSearchBenchmark {
+
+  private static final int LIMIT = 100;
+
+  @Param({"10000", "100000"})
+  private int rows;
+
+  // １文字（全体の約1/10が該当）と複数文字（該当が少ない）の前方一致
+  @Param({"ア", "アジュコウセイ12"})
+  private String prefix;
+
+  private StudentSnapshot snapshot;
+  private Connection connection;
+  private PreparedStatement likeQuery;
+
+  @Setup
+  public void setUp() throws SQLException {
+    StudentBenchmarkData data = new StudentBenchmarkData(rows);
+    snapshot = StudentSnapshot.of(new StudentConverter().convertStudentDetails(
+        data.getStudents(), data.getCourses(), data.getStatuses()));
+
+    connection = DriverManager.getConnection("jdbc:h2:mem:kana-prefix;MODE=MySQL");
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE students (id INT PRIMARY KEY, name VARCHAR(50),"
+          + " kana_name VARCHAR(50), age INT, sex VARCHAR(10))");
+      statement.execute("CREATE INDEX idx_students_kana_name ON students (kana_name)");
+    }
+    try (PreparedStatement insert = connection.prepareStatement(
+        "INSERT INTO students (id, name, kana_name, age, sex) VALUES (?, ?, ?, ?, ?)")) {
+      for (Student student : data.getStudents()) {
+        insert.setInt(1, Integer.parseInt(student.getId()));
+        insert.setString(2, student.getName());
+        insert.setString(3, student.getKanaName());
+        insert.setInt(4, student.getAge());
+        insert.setString(5, student.getSex());
+        insert.addBatch();
+      }
+      insert.executeBatch();
+    }
+    likeQuery = connection.prepareStatement("SELECT id, name, kana_name, age, sex FROM students"
+        + " WHERE kana_name LIKE CONCAT(?, '%') ORDER BY id LIMIT ?");
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    likeQuery.close();
+    connection.close();
+  }
+
+  @Benchmark
+  public StudentDetailPage snapshotIndex() {
+    return snapshot.findPageByKanaPrefix(prefix, 0, LIMIT);
+  }
+
+  @Benchmark
+  public List<Student> sqlLike() throws SQLException {
+    likeQuery.setString(1, prefix);
+    likeQuery.setInt(2, LIMIT);
+    List<Student> students = new ArrayList<>(LIMIT);
+    try (ResultSet resultSet = likeQuery.executeQuery()) {
+      while (resultSet.next()) {
+        Student student = new Student();
+        student.setId(resultSet.getString("id"));
+        student.setName(resultSet.getString("name"));
+        student.setKanaName(resultSet.getString("kana_name"));
+        student.setAge(resultSet.getInt("age"));
+        student.setSex(resultSet.getString("sex"));
+        students.add(student);
+      }
+    }
+    return students;
+  }
+}
@@ -0,0 +1,66 @@
+package raisetech.StudentManagement.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.data.StudentApplicationStatus;
+import raisetech.StudentManagement.data.StudentCourse;
+
+/**
+ * ベンチマーク用の受講生・受講生コース情報・申込状況を生成します。 受講生１人につきコース情報を２件、コース情報１件につき申込状況を１件作成します。
+ */
+public class StudentBenchmarkData {
+
+  static final String[] KANA_PREFIXES = {"ア", "イ", "ウ", "エ", "オ", "カ", "キ", "ク", "ケ", "コ"};
+  static final String[] SEXES = {"男性", "女性", "その他"};
+  static final String[] AREAS = {"東京", "大阪", "名古屋", "福岡", "札幌", "仙台", "広島"};
+  static final String[] COURSE_NAMES = {"Javaコース", "AWSコース", "デザインコース",
+      "Web制作コース", "マーケティングコース"};
+  static final String[] STATUSES = {"仮申込", "本申込", "受講中", "受講終了"};
+  static final LocalDateTime FIRST_COURSE_START = LocalDateTime.of(2023, 4, 1, 9, 0);
+
+  private final List<Student> students;
+  private final List<StudentCourse> courses;
+  private final List<StudentApplicationStatus> statuses;
+
+  /**
+   * 指定した人数分の受講生とそれに紐づくデータを生成します。
+   *
+   * @param rows 受講生の人数
+   */
+  public StudentBenchmarkData(int rows) {
+    students = new ArrayList<>(rows);
+    courses = new ArrayList<>(rows * 2);
+    statuses = new ArrayList<>(rows * 2);
+
+    for (int i = 1; i <= rows; i++) {
+      String studentId = String.valueOf(i);
+      students.add(new Student(studentId, "受講生" + i,
+          KANA_PREFIXES[i % KANA_PREFIXES.length] + "ジュコウセイ" + i, "ジュコ",
+          "student" + i + "@example.com", AREAS[i % AREAS.length], 18 + i % 43, SEXES[i % SEXES.length], "",
+          false));
+
+      for (int j = 0; j < 2; j++) {
+        int courseId = courses.size() + 1;
+        LocalDateTime startAt = FIRST_COURSE_START.plusDays(courseId % 730);
+        courses.add(new StudentCourse(courseId, studentId,
+            COURSE_NAMES[courseId % COURSE_NAMES.length], startAt, startAt.plusYears(1)));
+        statuses.add(new StudentApplicationStatus(courseId, courseId,
+            STATUSES[courseId % STATUSES.length]));
+      }
+    }
+  }
+
+  public List<Student> getStudents() {
+    return students;
+  }
+
+  public List<StudentCourse> getCourses() {
+    return courses;
+  }
+
+  public List<StudentApplicationStatus> getStatuses() {
+    return statuses;
+  }
+}
@@ -0,0 +1,103 @@
+package raisetech.StudentManagement.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import raisetech.StudentManagement.data.Student;
+
+/**
+ * 受講生を１件ずつINSERTした時と、リポジトリの registerStudents と同じ複数行のVALUESで500件ずつINSERTした時の処理時間を比較します。
+ * インメモリのH2（MySQLモード）に対して実行します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StudentBulkInsertBenchmark {
+
+  private static final int COUNT = 2_000;
+  private static final int CHUNK_SIZE = 500;
+  private static final String INSERT = "INSERT INTO students(name, kana_name, nickname, email,"
+      + " area, age, sex, remark, is_deleted) VALUES ";
+  private static final String VALUES = "(?, ?, ?, ?, ?, ?, ?, ?, false)";
+
+  private List<Student> students;
+  private Connection connection;
+
+  @Setup
+  public void setUp() throws SQLException {
+    students = new StudentBenchmarkData(COUNT).getStudents();
+    connection = DriverManager.getConnection(
+        "jdbc:h2:mem:student-bulk-insert;DB_CLOSE_DELAY=-1;MODE=MySQL");
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE IF NOT EXISTS students (id INT PRIMARY KEY AUTO_INCREMENT,"
+          + " name VARCHAR(50) NOT NULL, kana_name VARCHAR(50) NOT NULL, nickname VARCHAR(50),"
+          + " email VARCHAR(50) NOT NULL, area VARCHAR(50), age INT, sex VARCHAR(10),"
+          + " remark TEXT, is_deleted BOOLEAN)");
+    }
+  }
+
+  @Setup(Level.Invocation)
+  public void truncate() throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("TRUNCATE TABLE students");
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    connection.close();
+  }
+
+  @Benchmark
+  public void perRow() throws SQLException {
+    try (PreparedStatement insert = connection.prepareStatement(INSERT + VALUES,
+        Statement.RETURN_GENERATED_KEYS)) {
+      for (Student student : students) {
+        bind(insert, 1, student);
+        insert.executeUpdate();
+      }
+    }
+  }
+
+  @Benchmark
+  public void bulk() throws SQLException {
+    String sql = INSERT + String.join(", ", Collections.nCopies(CHUNK_SIZE, VALUES));
+    try (PreparedStatement insert = connection.prepareStatement(sql,
+        Statement.RETURN_GENERATED_KEYS)) {
+      for (int from = 0; from < COUNT; from += CHUNK_SIZE) {
+        int index = 1;
+        for (Student student : students.subList(from, from + CHUNK_SIZE)) {
+          index = bind(insert, index, student);
+        }
+        insert.executeUpdate();
+      }
+    }
+  }
+
+  private static int bind(PreparedStatement insert, int index, Student student)
+      throws SQLException {
+    insert.setString(index++, student.getName());
+    insert.setString(index++, student.getKanaName());
+    insert.setString(index++, student.getNickname());
+    insert.setString(index++, student.getEmail());
+    insert.setString(index++, student.getArea());
+    insert.setInt(index++, student.getAge());
+    insert.setString(index++, student.getSex());
+    insert.setString(index++, student.getRemark());
+    return index;
+  }
+}
@@ -0,0 +1,41 @@
+package raisetech.StudentManagement.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import raisetech.StudentManagement.controller.converter.StudentConverter;
+import raisetech.StudentManagement.domain.StudentDetail;
+
+/**
+ * {@link StudentConverter#convertStudentDetails}のスループットを受講生の人数ごとに計測します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StudentConverterBenchmark {
+
+  @Param({"1000", "10000", "100000"})
+  private int rows;
+
+  private StudentConverter converter;
+  private StudentBenchmarkData data;
+
+  @Setup
+  public void setUp() {
+    converter = new StudentConverter();
+    data = new StudentBenchmarkData(rows);
+  }
+
+  @Benchmark
+  public List<StudentDetail> convertStudentDetails() {
+    return converter.convertStudentDetails(data.getStudents(), data.getCourses(),
+        data.getStatuses());
+  }
+}
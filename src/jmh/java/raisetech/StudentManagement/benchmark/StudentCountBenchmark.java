@@ -0,0 +1,149 @@
+package raisetech.StudentManagement.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import raisetech.StudentManagement.controller.converter.StudentConverter;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.data.StudentApplicationStatus;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentCountCondition;
+import raisetech.StudentManagement.snapshot.StudentSnapshot;
+
+/**
+ * 性別・地域・コース名・申込状況を組み合わせた人数の集計について、スナップショットのビットマップの索引と、SQLのCOUNTの処理時間を比較します。
+ * SQLはインメモリのH2（MySQLモード）に本番と同じインデックスを作成して実行します。 100万人分のデータを保持するため、ヒープを大きくして実行します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class StudentCountBenchmark {
+
+  private static final List<String> SEXES = List.of("女性");
+  private static final List<String> AREAS = List.of("東京", "大阪");
+  private static final List<String> COURSE_NAMES = List.of("Javaコース");
+  private static final List<String> STATUSES = List.of("受講中", "本申込");
+
+  @Param({"100000", "1000000"})
+  private int rows;
+
+  private StudentCountCondition condition;
+  private StudentSnapshot snapshot;
+  private Connection connection;
+  private PreparedStatement countQuery;
+
+  @Setup
+  public void setUp() throws SQLException {
+    StudentBenchmarkData data = new StudentBenchmarkData(rows);
+    snapshot = StudentSnapshot.of(new StudentConverter().convertStudentDetails(
+        data.getStudents(), data.getCourses(), data.getStatuses()));
+
+    condition = new StudentCountCondition();
+    condition.setSexes(SEXES);
+    condition.setAreas(AREAS);
+    condition.setCourseNames(COURSE_NAMES);
+    condition.setStatuses(STATUSES);
+
+    connection = DriverManager.getConnection("jdbc:h2:mem:student-count;MODE=MySQL");
+    try (Statement statement = connection.createStatement()) {
+      statement.execute("CREATE TABLE students (id INT PRIMARY KEY, area VARCHAR(50),"
+          + " sex VARCHAR(10))");
+      statement.execute("CREATE TABLE students_courses (id INT PRIMARY KEY, student_id INT,"
+          + " course_name VARCHAR(50))");
+      statement.execute("CREATE TABLE students_application_status (id INT PRIMARY KEY,"
+          + " student_course_id INT, status VARCHAR(10))");
+      statement.execute("CREATE INDEX idx_students_sex ON students (sex)");
+      statement.execute("CREATE INDEX idx_students_courses_student_id"
+          + " ON students_courses (student_id)");
+      statement.execute("CREATE INDEX idx_students_courses_course_name"
+          + " ON students_courses (course_name)");
+      statement.execute("CREATE INDEX idx_students_application_status_student_course_id"
+          + " ON students_application_status (student_course_id)");
+      statement.execute("CREATE INDEX idx_students_application_status_status"
+          + " ON students_application_status (status)");
+    }
+    insertRows(data);
+
+    // 受講生コースの条件はリポジトリの countStudents と同じくEXISTSで同じコースに対して評価する
+    countQuery = connection.prepareStatement("SELECT COUNT(*) FROM students s"
+        + " WHERE s.sex IN (?) AND s.area IN (?, ?)"
+        + " AND EXISTS (SELECT 1 FROM students_courses sc"
+        + " JOIN students_application_status sas ON sas.student_course_id = sc.id"
+        + " WHERE sc.student_id = s.id AND sc.course_name IN (?) AND sas.status IN (?, ?))");
+  }
+
+  @TearDown
+  public void tearDown() throws SQLException {
+    countQuery.close();
+    connection.close();
+  }
+
+  @Benchmark
+  public long bitmapCount() {
+    return snapshot.count(condition);
+  }
+
+  @Benchmark
+  public long sqlCount() throws SQLException {
+    countQuery.setString(1, SEXES.get(0));
+    countQuery.setString(2, AREAS.get(0));
+    countQuery.setString(3, AREAS.get(1));
+    countQuery.setString(4, COURSE_NAMES.get(0));
+    countQuery.setString(5, STATUSES.get(0));
+    countQuery.setString(6, STATUSES.get(1));
+    try (ResultSet resultSet = countQuery.executeQuery()) {
+      resultSet.next();
+      return resultSet.getLong(1);
+    }
+  }
+
+  private void insertRows(StudentBenchmarkData data) throws SQLException {
+    try (PreparedStatement insert = connection.prepareStatement(
+        "INSERT INTO students (id, area, sex) VALUES (?, ?, ?)")) {
+      for (Student student : data.getStudents()) {
+        insert.setInt(1, Integer.parseInt(student.getId()));
+        insert.setString(2, student.getArea());
+        insert.setString(3, student.getSex());
+        insert.addBatch();
+      }
+      insert.executeBatch();
+    }
+    try (PreparedStatement insert = connection.prepareStatement(
+        "INSERT INTO students_courses (id, student_id, course_name) VALUES (?, ?, ?)")) {
+      for (StudentCourse course : data.getCourses()) {
+        insert.setInt(1, course.getId());
+        insert.setInt(2, Integer.parseInt(course.getStudentId()));
+        insert.setString(3, course.getCourseName());
+        insert.addBatch();
+      }
+      insert.executeBatch();
+    }
+    try (PreparedStatement insert = connection.prepareStatement(
+        "INSERT INTO students_application_status (id, student_course_id, status)"
+            + " VALUES (?, ?, ?)")) {
+      for (StudentApplicationStatus status : data.getStatuses()) {
+        insert.setInt(1, status.getId());
+        insert.setInt(2, status.getStudentCourseId());
+        insert.setString(3, status.getStatus());
+        insert.addBatch();
+      }
+      insert.executeBatch();
+    }
+  }
+}
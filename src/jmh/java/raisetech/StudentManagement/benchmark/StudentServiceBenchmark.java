@@ -0,0 +1,190 @@
+package raisetech.StudentManagement.benchmark;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import raisetech.StudentManagement.controller.converter.StudentConverter;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.data.StudentApplicationStatus;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.repository.StudentRepository;
+import raisetech.StudentManagement.service.StudentService;
+import raisetech.StudentManagement.snapshot.StudentSnapshotService;
+
+/**
+ * {@link StudentService}の検索メソッドのスループットを受講生の人数ごとに計測します。
+ * リポジトリはモックにして、あらかじめ生成したデータを返すので、データベースを除いたサービスと変換の処理だけを計測できます。
+ * snapshot=true の場合は受講生のスナップショットを有効にし、スナップショットからの検索を計測します。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StudentServiceBenchmark {
+
+  private static final LocalDateTime START_FROM = LocalDateTime.of(2023, 4, 1, 0, 0);
+  private static final LocalDateTime START_TO = LocalDateTime.of(2023, 6, 30, 23, 59);
+
+  @Param({"1000", "10000", "100000"})
+  private int rows;
+
+  @Param({"false", "true"})
+  private boolean snapshot;
+
+  private ExecutorService queryExecutor;
+  private StudentService service;
+
+  @Setup
+  public void setUp() {
+    StudentBenchmarkData data = new StudentBenchmarkData(rows);
+    List<Student> students = data.getStudents();
+    List<StudentCourse> courses = data.getCourses();
+    List<StudentApplicationStatus> statuses = data.getStatuses();
+
+    Map<String, Student> studentsById = students.stream()
+        .collect(Collectors.toMap(Student::getId, Function.identity()));
+    Map<String, List<StudentCourse>> coursesByStudentId = courses.stream()
+        .collect(Collectors.groupingBy(StudentCourse::getStudentId));
+    Map<Integer, StudentCourse> coursesById = courses.stream()
+        .collect(Collectors.toMap(StudentCourse::getId, Function.identity()));
+    Map<Integer, StudentApplicationStatus> statusesByCourseId = statuses.stream()
+        .collect(Collectors.toMap(StudentApplicationStatus::getStudentCourseId,
+            Function.identity()));
+
+    // 呼び出し履歴を記録しないモックにして、計測中にメモリが増え続けないようにする
+    StudentRepository repository = mock(StudentRepository.class, withSettings().stubOnly());
+    when(repository.search()).thenReturn(students);
+    when(repository.searchStudentDetailList()).thenReturn(
+        new StudentConverter().convertStudentDetails(students, courses, statuses));
+    when(repository.searchStudentCourseList()).thenReturn(courses);
+    when(repository.searchStudentApplicationStatus()).thenReturn(statuses);
+    when(repository.findStudentsByNamePrefix(anyString())).thenAnswer(invocation ->
+        students.stream()
+            .filter(student -> student.getKanaName().startsWith(invocation.getArgument(0)))
+            .toList());
+    when(repository.findStudentsByAgeRange(anyInt(), anyInt())).thenAnswer(invocation ->
+        students.stream()
+            .filter(student -> student.getAge() >= (int) invocation.getArgument(0)
+                && student.getAge() <= (int) invocation.getArgument(1))
+            .toList());
+    when(repository.findStudentsByGender(anyString())).thenAnswer(invocation ->
+        students.stream()
+            .filter(student -> student.getSex().equals(invocation.getArgument(0)))
+            .toList());
+    when(repository.findStudentDetailsByCourseName(anyString())).thenAnswer(invocation -> {
+      Map<String, List<StudentCourse>> matchedCourses = courses.stream()
+          .filter(course -> course.getCourseName().equals(invocation.getArgument(0)))
+          .collect(Collectors.groupingBy(StudentCourse::getStudentId, TreeMap::new,
+              Collectors.toList()));
+      return matchedCourses.entrySet().stream()
+          .map(entry -> new StudentDetail(studentsById.get(entry.getKey()), entry.getValue(),
+              entry.getValue().stream()
+                  .map(course -> statusesByCourseId.get(course.getId()))
+                  .toList()))
+          .toList();
+    });
+    when(repository.findCoursesByStartDateRange(any(), any())).thenAnswer(invocation -> {
+      LocalDateTime from = invocation.getArgument(0);
+      LocalDateTime to = invocation.getArgument(1);
+      return courses.stream()
+          .filter(course -> !course.getCourseStartAt().isBefore(from)
+              && !course.getCourseStartAt().isAfter(to))
+          .toList();
+    });
+    when(repository.findStudentDetailsByStatus(anyString())).thenAnswer(invocation -> {
+      Map<String, List<StudentCourse>> matchedCourses = statuses.stream()
+          .filter(status -> status.getStatus().equals(invocation.getArgument(0)))
+          .map(status -> coursesById.get(status.getStudentCourseId()))
+          .collect(Collectors.groupingBy(StudentCourse::getStudentId, TreeMap::new,
+              Collectors.toList()));
+      return matchedCourses.entrySet().stream()
+          .map(entry -> new StudentDetail(studentsById.get(entry.getKey()), entry.getValue(),
+              entry.getValue().stream()
+                  .map(course -> statusesByCourseId.get(course.getId()))
+                  .toList()))
+          .toList();
+    });
+    when(repository.findStudentsByIds(anyList())).thenAnswer(invocation ->
+        invocation.<List<String>>getArgument(0).stream()
+            .map(studentsById::get)
+            .filter(Objects::nonNull)
+            .toList());
+    when(repository.findCoursesByStudentIds(anyList())).thenAnswer(invocation ->
+        invocation.<List<String>>getArgument(0).stream()
+            .flatMap(studentId -> coursesByStudentId.getOrDefault(studentId, List.of()).stream())
+            .toList());
+    when(repository.findStatusesByCourseIds(anyList())).thenAnswer(invocation ->
+        invocation.<List<Integer>>getArgument(0).stream()
+            .map(statusesByCourseId::get)
+            .filter(Objects::nonNull)
+            .toList());
+
+    queryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    StudentSnapshotService snapshotService = new StudentSnapshotService(repository, snapshot);
+    if (snapshot) {
+      snapshotService.refresh();
+    }
+    service = new StudentService(repository, new StudentConverter(), queryExecutor,
+        snapshotService, event -> {
+        });
+  }
+
+  @TearDown
+  public void tearDown() {
+    queryExecutor.close();
+  }
+
+  @Benchmark
+  public List<StudentDetail> findStudentsByStatus() {
+    return service.findStudentsByStatus("受講中");
+  }
+
+  @Benchmark
+  public List<StudentDetail> findStudentsByCourse() {
+    return service.findStudentsByCourse("Javaコース");
+  }
+
+  @Benchmark
+  public List<StudentDetail> findStudentsByNamePrefix() {
+    return service.findStudentsByNamePrefix("ア");
+  }
+
+  @Benchmark
+  public List<StudentDetail> findStudentsByAgeRange() {
+    return service.findStudentsByAgeRange(20, 29);
+  }
+
+  @Benchmark
+  public List<StudentDetail> findStudentsByGender() {
+    return service.findStudentsByGender("女性");
+  }
+
+  @Benchmark
+  public List<StudentDetail> findStudentsByCourseStartDateRange() {
+    return service.findStudentsByCourseStartDateRange(START_FROM, START_TO);
+  }
+}
@@ -0,0 +1,56 @@
+package raisetech.StudentManagement.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.concurrent.ExecutorService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * キャッシュの設定です。 キャッシュの実体（Caffeine）や上限件数・有効期限はapplication.propertiesで指定します。
+ * キャッシュの処理をトランザクションの外側で行うよう優先度を最も高くし、更新系メソッドのキャッシュ削除がコミット後に行われるようにしています。
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+  /**
+   * 受講生IDをキーに受講生詳細を保持するキャッシュの名前です。
+   */
+  public static final String STUDENT_DETAIL_CACHE = "studentDetail";
+
+  /**
+   * 受講生IDをキャッシュのキーに変換します。 先頭の0を取り除き、"007"と"7"が同じキーになるようにします。
+   *
+   * @param id 受講生ID
+   * @return キャッシュのキー
+   */
+  public static String studentDetailKey(String id) {
+    return id == null ? null : id.replaceFirst("^0+(?=\\d)", "");
+  }
+
+  /**
+   * キャッシュを非同期モードにし、値の読み込みを仮想スレッドで行います。 同期モードでは{@code sync = true}の読み込みが
+   * ConcurrentHashMapのcompute内（モニタを保持した状態）で実行されるため、データベースの応答待ちの間も仮想スレッドのキャリアスレッドがピン留めされます。
+   * 非同期モードのcompute内では読み込み中のFutureを登録するだけなので、読み込みや同じキーの読み込み完了の待機でピン留めされません。
+   * 読み込み中に削除されたFutureは完了してもキャッシュに戻らないため、更新と同時の検索で古い内容が残ることもありません。
+   *
+   * @param spec          Caffeineの設定（spring.cache.caffeine.spec）
+   * @param queryExecutor 仮想スレッドのExecutor
+   * @return キャッシュマネージャーの設定
+   */
+  @Bean
+  public CacheManagerCustomizer<CaffeineCacheManager> asyncCacheModeCustomizer(
+      @Value("${spring.cache.caffeine.spec:}") String spec,
+      @Qualifier("studentQueryExecutor") ExecutorService queryExecutor) {
+    return cacheManager -> {
+      cacheManager.setCaffeine(Caffeine.from(spec).executor(queryExecutor));
+      cacheManager.setAsyncCacheMode(true);
+    };
+  }
+}
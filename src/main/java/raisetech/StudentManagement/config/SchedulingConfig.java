@@ -0,0 +1,13 @@
+package raisetech.StudentManagement.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * 定期実行の設定です。 各バッチ処理の実行日時と有効・無効はapplication.propertiesで指定します。
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
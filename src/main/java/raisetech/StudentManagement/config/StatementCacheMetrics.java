@@ -0,0 +1,104 @@
+package raisetech.StudentManagement.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+/**
+ * MySQLのプリペアドステートメントの準備回数・実行回数をメトリクスとして公開します。
+ * 値はperformance_schemaのサーバー全体の累計値なので、同じデータベースを使う他のアプリケーションの分も含みます。
+ * ステートメントキャッシュのヒット率は公開せず、必要な場合はPromQLで
+ * {@code 1 - rate(mysql_statements_prepared_total[5m]) / rate(mysql_statements_executed_total[5m])}のように求めます。
+ * <p>
+ * ２つの値は１回のクエリでまとめて読み出し、student-management.metrics.statement-cache.refresh-interval（既定は15秒）の間は
+ * 読み出した値を使い回すので、スクレイプのたびにコネクションプールのコネクションを何度も使うことはありません。
+ * コネクションプールの待ち時間・使用中/待機中のコネクション数はSpring Bootが自動で公開するhikaricp.*のメトリクスを使用します。
+ */
+@Component
+@Profile("prod")
+public class StatementCacheMetrics implements MeterBinder {
+
+  private static final String PREPARED = "Com_stmt_prepare";
+  private static final String EXECUTED = "Com_stmt_execute";
+  private static final String GLOBAL_STATUS_SQL =
+      "SELECT VARIABLE_NAME, VARIABLE_VALUE FROM performance_schema.global_status"
+          + " WHERE VARIABLE_NAME IN ('" + PREPARED + "', '" + EXECUTED + "')";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final long refreshIntervalNanos;
+  private final ReentrantLock refreshLock = new ReentrantLock();
+
+  private volatile GlobalStatus globalStatus;
+
+  public StatementCacheMetrics(JdbcTemplate jdbcTemplate,
+      @Value("${student-management.metrics.statement-cache.refresh-interval:PT15S}")
+      Duration refreshInterval) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.refreshIntervalNanos = refreshInterval.toNanos();
+  }
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+    FunctionCounter.builder("mysql.statements.prepared", this,
+            metrics -> metrics.readGlobalStatus(PREPARED))
+        .description("サーバー側で準備されたプリペアドステートメントの数")
+        .register(registry);
+    FunctionCounter.builder("mysql.statements.executed", this,
+            metrics -> metrics.readGlobalStatus(EXECUTED))
+        .description("サーバー側で実行されたプリペアドステートメントの数")
+        .register(registry);
+  }
+
+  /**
+   * 指定した状態変数の値を返します。 前回の読み出しから一定時間が経っている場合のみ、データベースから読み出し直します。
+   *
+   * @param name 状態変数の名前
+   * @return 状態変数の値（読み出せない場合はNaN）
+   */
+  private double readGlobalStatus(String name) {
+    GlobalStatus current = globalStatus;
+    if (isStale(current)) {
+      current = refresh();
+    }
+    return current.values().getOrDefault(name, Double.NaN);
+  }
+
+  private GlobalStatus refresh() {
+    refreshLock.lock();
+    try {
+      // 待っている間に他のメトリクスの読み出しで読み出し直された場合はその値を使う
+      GlobalStatus current = globalStatus;
+      if (!isStale(current)) {
+        return current;
+      }
+      Map<String, Double> values = new HashMap<>();
+      jdbcTemplate.query(GLOBAL_STATUS_SQL, (RowCallbackHandler) resultSet ->
+          values.put(resultSet.getString(1), resultSet.getDouble(2)));
+      GlobalStatus loaded = new GlobalStatus(Map.copyOf(values), System.nanoTime());
+      globalStatus = loaded;
+      return loaded;
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  private boolean isStale(GlobalStatus status) {
+    return status == null || System.nanoTime() - status.readAt() >= refreshIntervalNanos;
+  }
+
+  /**
+   * 読み出した状態変数の値と、読み出した時刻（{@link System#nanoTime()}）です。
+   */
+  private record GlobalStatus(Map<String, Double> values, long readAt) {
+
+  }
+}
@@ -0,0 +1,24 @@
+package raisetech.StudentManagement.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * 仮想スレッドの設定です。 リクエスト処理（Tomcat）の仮想スレッド化はapplication.propertiesの spring.threads.virtual.enabled
+ * で指定し、ここではサービス内で互いに依存しない検索を同時に実行するためのExecutorを定義します。
+ */
+@Configuration
+public class VirtualThreadConfig {
+
+  /**
+   * タスクごとに仮想スレッドを起動するExecutorです。 データベースの応答待ちの間はキャリアスレッドを解放するので、 同時に実行する検索の数だけプラットフォームスレッドを確保する必要がありません。
+   *
+   * @return 仮想スレッドのExecutor
+   */
+  @Bean(destroyMethod = "close")
+  public ExecutorService studentQueryExecutor() {
+    return Executors.newVirtualThreadPerTaskExecutor();
+  }
+}
@@ -1,15 +1,22 @@
 package raisetech.StudentManagement.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
@@ -17,6 +24,7 @@ import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -26,9 +34,16 @@ import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import raisetech.StudentManagement.domain.StatusTransitionRequest;
+import raisetech.StudentManagement.domain.StudentCountCondition;
 import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.domain.StudentDetailPage;
+import raisetech.StudentManagement.domain.StudentSearchCondition;
+import raisetech.StudentManagement.domain.StudentStatistics;
 import raisetech.StudentManagement.exception.PracticeException;
 import raisetech.StudentManagement.service.StudentService;
+import raisetech.StudentManagement.statistics.StudentStatisticsService;
 
 /**
  * 受講生の検索や登録、更新などを行うREST APIとして受け付けるControllerです。
@@ -39,11 +54,17 @@ import raisetech.StudentManagement.service.StudentService;
 public class StudentController {
 
   private StudentService service;
+  private StudentStatisticsService statisticsService;
+  private ObjectWriter studentDetailWriter;
 
   @Autowired
-  public StudentController(StudentService service) {
+  public StudentController(StudentService service, StudentStatisticsService statisticsService,
+      ObjectMapper objectMapper) {
     this.service = service;
-
+    this.statisticsService = statisticsService;
+    // 1件ごとの書き出しでレスポンスのストリームが閉じられないようにする
+    this.studentDetailWriter = objectMapper.writerFor(StudentDetail.class)
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
   }
 
   /**
@@ -57,6 +78,128 @@ public class StudentController {
     return service.searchStudentList();
   }
 
+  /**
+   * 受講生詳細の全件をNDJSON（１行に１件のJSON）形式で出力します。 データベースから１件ずつ読み出しながら書き出すので、件数が多くてもメモリ使用量は一定です。
+   *
+   * @return 受講生詳細を受講生ID順に１行ずつ書き出すレスポンス
+   */
+  @Operation(summary = "一覧出力", description = "受講生詳細の全件をNDJSON形式で出力します。")
+  @GetMapping(value = "/studentList/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<StreamingResponseBody> exportStudentList() {
+    StreamingResponseBody body = outputStream -> service.exportStudentDetails(studentDetail -> {
+      try {
+        studentDetailWriter.writeValue(outputStream, studentDetail);
+        outputStream.write('\n');
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(body);
+  }
+
+  /**
+   * 受講生詳細の一覧をページ単位で検索します。 受講生ID順に並べ、afterに指定した受講生IDより後ろの受講生をlimit件まで取得します。
+   *
+   * @param after 直前のページの最後の受講生ID（最初のページは0）
+   * @param limit １ページの最大件数（1～1000）
+   * @return 受講生詳細のページ
+   */
+  @Operation(summary = "一覧検索（ページング）", description = "受講生の一覧を受講生ID順にページ単位で検索します。")
+  @GetMapping("/studentList/page")
+  public StudentDetailPage getStudentPage(
+      @RequestParam(name = "after", defaultValue = "0") @Min(0) int after,
+      @RequestParam(name = "limit", defaultValue = "100") @Min(1) @Max(1000) int limit) {
+    return service.searchStudentPage(new StudentSearchCondition(), after, limit);
+  }
+
+  /**
+   * 複数の条件を組み合わせて受講生詳細をページ単位で検索します。 条件はすべて任意で、指定した条件をすべて満たす受講生を受講生ID順に取得します。
+   * コース名・申込状況・受講開始日の条件は、すべてを満たすコースを１つ以上持つ受講生を対象とし、そのコースと申込状況のみを返します。
+   *
+   * @param kanaPrefix      受講生のカナ名の先頭の文字列（全角カタカナ1～20文字）
+   * @param minAge          年齢の下限
+   * @param maxAge          年齢の上限
+   * @param sex             性別
+   * @param area            地域
+   * @param courseName      受講コース名
+   * @param status          申込状況
+   * @param courseStartFrom 受講開始日の検索区間の始まりの日
+   * @param courseStartTo   受講開始日の検索区間の終わりの日
+   * @param after           直前のページの最後の受講生ID（最初のページは0）
+   * @param limit           １ページの最大件数（1～1000）
+   * @return 条件に該当する受講生詳細のページ
+   */
+  @Operation(summary = "受講生の複合条件検索（ページング）", description = "カナ名・年齢・性別・地域・コース名・申込状況・受講開始日を組み合わせて受講生の情報をページ単位で取得します。")
+  @GetMapping("/students/search")
+  public StudentDetailPage searchStudents(
+      @RequestParam(name = "kanaPrefix", required = false)
+      @Pattern(regexp = "^[\\u30A1-\\u30F6\\u30FC]{1,20}$", message = "全角カタカナ1～20文字で入力してください")
+      String kanaPrefix,
+      @RequestParam(name = "minAge", required = false) @Min(0) Integer minAge,
+      @RequestParam(name = "maxAge", required = false) @Min(0) Integer maxAge,
+      @RequestParam(name = "sex", required = false) String sex,
+      @RequestParam(name = "area", required = false) String area,
+      @RequestParam(name = "courseName", required = false) String courseName,
+      @RequestParam(name = "status", required = false) String status,
+      @RequestParam(name = "courseStartFrom", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate courseStartFrom,
+      @RequestParam(name = "courseStartTo", required = false)
+      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate courseStartTo,
+      @RequestParam(name = "after", defaultValue = "0") @Min(0) int after,
+      @RequestParam(name = "limit", defaultValue = "100") @Min(1) @Max(1000) int limit) {
+    if (minAge != null && maxAge != null && minAge > maxAge) {
+      throw new IllegalArgumentException("minAge は maxAge 以下である必要があります");
+    }
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setKanaPrefix(kanaPrefix);
+    condition.setMinAge(minAge);
+    condition.setMaxAge(maxAge);
+    condition.setSex(sex);
+    condition.setArea(area);
+    condition.setCourseName(courseName);
+    condition.setStatus(status);
+    condition.setCourseStartFrom(courseStartFrom == null ? null : courseStartFrom.atStartOfDay());
+    condition.setCourseStartTo(courseStartTo == null ? null : courseStartTo.atTime(23, 59, 59));
+    return service.searchStudentPage(condition, after, limit);
+  }
+
+  /**
+   * 条件に該当する受講生の人数を返します。 同じ項目に複数の値を指定した場合はいずれかに該当する受講生、異なる項目はすべてに該当する受講生を数えます。
+   *
+   * @param sexes       性別（複数指定可）
+   * @param areas       地域（複数指定可）
+   * @param courseNames 受講コース名（複数指定可）
+   * @param statuses    申込状況（複数指定可）
+   * @return 受講生の人数
+   */
+  @Operation(summary = "受講生の人数集計", description = "性別・地域・コース名・申込状況を組み合わせて、該当する受講生の人数を取得します。")
+  @GetMapping("/students/count")
+  public Map<String, Long> countStudents(
+      @RequestParam(name = "sex", required = false) List<String> sexes,
+      @RequestParam(name = "area", required = false) List<String> areas,
+      @RequestParam(name = "courseName", required = false) List<String> courseNames,
+      @RequestParam(name = "status", required = false) List<String> statuses) {
+    StudentCountCondition condition = new StudentCountCondition();
+    condition.setSexes(sexes == null ? List.of() : sexes);
+    condition.setAreas(areas == null ? List.of() : areas);
+    condition.setCourseNames(courseNames == null ? List.of() : courseNames);
+    condition.setStatuses(statuses == null ? List.of() : statuses);
+    return Map.of("count", service.countStudents(condition));
+  }
+
+  /**
+   * コース名・申込状況・地域ごとの受講生の人数を返します。 集計はメモリ上に保持しているため、データベースへの問い合わせは行いません。
+   *
+   * @return 受講生の集計
+   */
+  @Operation(summary = "集計", description = "コース名・申込状況・地域ごとの受講生の人数を返します。")
+  @GetMapping("/statistics")
+  public StudentStatistics getStatistics() {
+    return statisticsService.getStatistics();
+  }
+
   /**
    * 意図的に例外を発生させる練習用のメソッドです。
    *
@@ -158,6 +301,23 @@ public class StudentController {
     return ResponseEntity.ok(responseStudentDetail);
   }
 
+  /**
+   * 複数の受講生詳細の一括登録を行います。
+   *
+   * @param studentDetails 受講生詳細のリスト
+   * @return 実行結果
+   */
+  @Operation(
+      summary = "受講生一括登録",
+      description = "複数の受講生をまとめて登録します。",
+      tags = {"受講生管理"})
+  @PostMapping("/registerStudents")
+  public ResponseEntity<List<StudentDetail>> registerStudents(
+      @RequestBody @NotEmpty List<@Valid StudentDetail> studentDetails) {
+    List<StudentDetail> responseStudentDetails = service.registerStudents(studentDetails);
+    return ResponseEntity.ok(responseStudentDetails);
+  }
+
   /**
    * 受講生詳細の更新を行います。キャンセルフラグの更新もここで行います。（論理削除）
    *
@@ -175,15 +335,29 @@ public class StudentController {
     return ResponseEntity.ok(response);
   }
 
+  /**
+   * 申込状況の一括変更を行います。対象のコースのうち申込状況が変更前の申込状況であるものを、まとめて変更後の申込状況に変更します。
+   * 申込状況は仮申込、本申込、受講中、受講終了の順に１段階ずつしか進められません。
+   *
+   * @param request 申込状況の一括変更の内容
+   * @return 変更した申込状況の件数
+   */
+  @Operation(summary = "申込状況一括変更", description = "対象のコースの申込状況をまとめて変更します。")
+  @PutMapping("/applicationStatuses/transition")
+  public ResponseEntity<Map<String, Integer>> transitionStatuses(
+      @RequestBody @Valid StatusTransitionRequest request) {
+    return ResponseEntity.ok(Map.of("updatedCount", service.transitionStatuses(request)));
+  }
+
   /**
    * 受講生の名前一覧検索です。引数で受け取ったカタカナから始まる受講生の一覧を取得します。
    *
-   * @param prefix 受講生のカナ名の１文字目（カタカナとします）
+   * @param prefix 受講生のカナ名の先頭の文字列（全角カタカナ1～20文字とします）
    * @return 引数のカタカナから始まる名前の受講生のリスト
    */
   @Operation(
       summary = "受講生カナ名検索",
-      description = "カナ名の先頭１文字を指定して受講生の情報を取得します。",
+      description = "カナ名の先頭の文字列（１文字以上）を指定して受講生の情報を取得します。",
       responses = {
           @ApiResponse(responseCode = "200", description = "正常に受講生情報を取得しました。"),
           @ApiResponse(
@@ -194,11 +368,11 @@ public class StudentController {
                   examples = @ExampleObject(
                       name = "BadRequestExample",
                       summary = "カナ名の形式エラー",
-                      description = "カナ名の先頭１文字が全角カタカナでない場合のエラー例",
+                      description = "カナ名の先頭の文字列が全角カタカナでない場合のエラー例",
                       value = """
                           {
                             "error": "Bad Request",
-                            "message": "カナ名の形式が不正です。全角カタカナ１文字を指定してください。",
+                            "message": "カナ名の形式が不正です。全角カタカナ1～20文字を指定してください。",
                             "code": 400
                           }"""))),
           @ApiResponse(
@@ -218,19 +392,43 @@ public class StudentController {
                           }""")))})
   @Parameter(
       name = "prefix",
-      description = "受講生カナ名先頭１文字（全角カタカナのみ）",
+      description = "受講生カナ名の先頭の文字列（全角カタカナ1～20文字）",
       required = true,
       example = "ア")
   @GetMapping("/starts-with/{prefix}")
   public List<StudentDetail> getStudentsStartingWith(
       @PathVariable @NotBlank
-      @Pattern(regexp = "^[\\u30A1-\\u30F6]$", message = "全角カタカナ1文字（ア～ン）で入力してください")
+      @Pattern(regexp = "^[\\u30A1-\\u30F6\\u30FC]{1,20}$", message = "全角カタカナ1～20文字で入力してください")
       String prefix) {
 
     return service.findStudentsByNamePrefix(prefix);
 
   }
 
+  /**
+   * 受講生のカナ名検索をページ単位で行います。引数で受け取ったカタカナから始まる受講生を受講生ID順に取得します。
+   * <p>
+   * メモリ上のフリガナ索引を使うのは {@code student-management.snapshot.enabled=true} の場合のみです。 既定値（false）では
+   * 複合条件検索と同じSQL（フリガナのLIKE検索と受講生IDのキーセットページング）で取得します。
+   *
+   * @param prefix 受講生のカナ名の先頭の文字列（全角カタカナ1～20文字とします）
+   * @param after  直前のページの最後の受講生ID（最初のページは0）
+   * @param limit  １ページの最大件数（1～1000）
+   * @return 引数のカタカナから始まる名前の受講生詳細のページ
+   */
+  @Operation(summary = "受講生カナ名検索（ページング）", description = "カナ名の先頭の文字列（１文字以上）を指定して受講生の情報をページ単位で取得します。")
+  @GetMapping("/starts-with/{prefix}/page")
+  public StudentDetailPage getStudentPageStartingWith(
+      @PathVariable @NotBlank
+      @Pattern(regexp = "^[\\u30A1-\\u30F6\\u30FC]{1,20}$", message = "全角カタカナ1～20文字で入力してください")
+      String prefix,
+      @RequestParam(name = "after", defaultValue = "0") @Min(0) int after,
+      @RequestParam(name = "limit", defaultValue = "100") @Min(1) @Max(1000) int limit) {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setKanaPrefix(prefix);
+    return service.searchStudentPage(condition, after, limit);
+  }
+
   /**
    * 受講生の年齢検索です。引数で受け取った２つの整数の範囲内の年齢をもつ受講生の一覧を取得します。
    *
@@ -290,6 +488,31 @@ public class StudentController {
 
   }
 
+  /**
+   * 受講生の年齢検索をページ単位で行います。引数で受け取った２つの整数の範囲内の年齢をもつ受講生を受講生ID順に取得します。
+   *
+   * @param minAge 年齢検索の下限
+   * @param maxAge 年齢検索の上限
+   * @param after  直前のページの最後の受講生ID（最初のページは0）
+   * @param limit  １ページの最大件数（1～1000）
+   * @return minAge以上 maxAge以下の年齢の受講生詳細のページ
+   */
+  @Operation(summary = "受講生年齢検索（ページング）", description = "年齢を指定して受講生の情報をページ単位で取得します。")
+  @GetMapping("/age-range/page")
+  public StudentDetailPage getStudentPageByAgeRange(
+      @RequestParam(name = "min") @NotNull @Min(0) int minAge,
+      @RequestParam(name = "max") @NotNull @Min(0) int maxAge,
+      @RequestParam(name = "after", defaultValue = "0") @Min(0) int after,
+      @RequestParam(name = "limit", defaultValue = "100") @Min(1) @Max(1000) int limit) {
+    if (minAge > maxAge) {
+      throw new IllegalArgumentException("min は max 以下である必要があります");
+    }
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setMinAge(minAge);
+    condition.setMaxAge(maxAge);
+    return service.searchStudentPage(condition, after, limit);
+  }
+
   /**
    * 受講生の性別検索です。「男性」または「女性」の受講生一覧を取得します。
    *
@@ -342,6 +565,24 @@ public class StudentController {
     return service.findStudentsByGender(sex);
   }
 
+  /**
+   * 受講生の性別検索をページ単位で行います。「男性」または「女性」の受講生を受講生ID順に取得します。
+   *
+   * @param sex   受講生の性別
+   * @param after 直前のページの最後の受講生ID（最初のページは0）
+   * @param limit １ページの最大件数（1～1000）
+   * @return 「男性」または「女性」の受講生詳細のページ
+   */
+  @Operation(summary = "受講生性別検索（ページング）", description = "性別を指定して受講生の情報をページ単位で取得します。")
+  @GetMapping("/gender-select/{sex}/page")
+  public StudentDetailPage getStudentPageByGender(@PathVariable @NotBlank String sex,
+      @RequestParam(name = "after", defaultValue = "0") @Min(0) int after,
+      @RequestParam(name = "limit", defaultValue = "100") @Min(1) @Max(1000) int limit) {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setSex(sex);
+    return service.searchStudentPage(condition, after, limit);
+  }
+
   /**
    * コース名を指定し、そのコースに所属している受講生一覧を返すメソッドです。
    *
@@ -394,6 +635,24 @@ public class StudentController {
     return service.findStudentsByCourse(courseName);
   }
 
+  /**
+   * コース名を指定し、そのコースに所属している受講生をページ単位で受講生ID順に返すメソッドです。
+   *
+   * @param courseName 検索したいコース名
+   * @param after      直前のページの最後の受講生ID（最初のページは0）
+   * @param limit      １ページの最大件数（1～1000）
+   * @return 指定したコースに所属している受講生詳細のページ
+   */
+  @Operation(summary = "受講生コース検索（ページング）", description = "所属コース名を指定して受講生の情報をページ単位で取得します。")
+  @GetMapping("/courseName/{courseName}/page")
+  public StudentDetailPage getStudentPageByCourse(@PathVariable @NotBlank String courseName,
+      @RequestParam(name = "after", defaultValue = "0") @Min(0) int after,
+      @RequestParam(name = "limit", defaultValue = "100") @Min(1) @Max(1000) int limit) {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setCourseName(courseName);
+    return service.searchStudentPage(condition, after, limit);
+  }
+
   /**
    * コースの受講開始日で受講生検索を行うメソッドです。 引数に指定する２つの日付の間に受講開始となる受講生詳細のリストを返します。 (例：2025-04-01 から 2025-05-31
    * の間のいずれかの日に受講開始となる受講生を検索する、などです。）
@@ -450,6 +709,56 @@ public class StudentController {
     return service.findStudentsByCourseStartDateRange(from.atStartOfDay(), to.atTime(23, 59, 59));
   }
 
+  /**
+   * コースの受講開始日で受講生検索をページ単位で行うメソッドです。 引数に指定する２つの日付の間に受講開始となる受講生詳細を受講生ID順に返します。
+   *
+   * @param from  検索区間の始まりの日
+   * @param to    検索区間の終わりの日
+   * @param after 直前のページの最後の受講生ID（最初のページは0）
+   * @param limit １ページの最大件数（1～1000）
+   * @return 該当区間の間に受講が開始される受講生詳細のページ
+   */
+  @Operation(summary = "受講生コース開始日検索（ページング）", description = "所属コースの開始日の区間を指定して受講生の情報をページ単位で取得します。")
+  @GetMapping("/courses/start-date/page")
+  public StudentDetailPage getStudentPageByCourseStartDateRange(
+      @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @RequestParam(name = "after", defaultValue = "0") @Min(0) int after,
+      @RequestParam(name = "limit", defaultValue = "100") @Min(1) @Max(1000) int limit) {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setCourseStartFrom(from.atStartOfDay());
+    condition.setCourseStartTo(to.atTime(23, 59, 59));
+    return service.searchStudentPage(condition, after, limit);
+  }
+
+  /**
+   * コースの受講期間で受講生検索を行うメソッドです。 受講期間（受講開始日～受講終了日）が引数に指定する２つの日付の間と重なるコースを持つ受講生詳細のリストを返します。
+   *
+   * @param from 検索区間の始まりの日
+   * @param to   検索区間の終わりの日
+   * @return 該当区間に受講期間が重なるコースを持つ受講生詳細のリスト
+   */
+  @Operation(summary = "受講生コース受講期間検索", description = "指定した期間に受講期間が重なる（期間中に受講中の）コースを持つ受講生の情報を取得します。")
+  @GetMapping("/courses/active")
+  public List<StudentDetail> getStudentsByCourseActiveRange(
+      @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+    return service.findStudentsByCourseActiveRange(from.atStartOfDay(), to.atTime(23, 59, 59));
+  }
+
+  /**
+   * コースの受講終了日で受講生検索を行うメソッドです。 引数に指定する日付より前に受講が終了するコースを持つ受講生詳細のリストを返します。
+   *
+   * @param before この日付より前（当日を含まない）に受講が終了するコースを対象とする
+   * @return 該当するコースを持つ受講生詳細のリスト
+   */
+  @Operation(summary = "受講生コース終了日検索", description = "指定した日より前に受講が終了するコースを持つ受講生の情報を取得します。")
+  @GetMapping("/courses/end-before")
+  public List<StudentDetail> getStudentsByCourseEndBefore(
+      @RequestParam("date") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate before) {
+    return service.findStudentsByCourseEndBefore(before.atStartOfDay());
+  }
+
   /**
    * 申込状況から受講生を検索するメソッドです。
    *
@@ -487,4 +796,22 @@ public class StudentController {
     return service.findStudentsByStatus(status);
   }
 
+  /**
+   * 申込状況から受講生をページ単位で受講生ID順に検索するメソッドです。
+   *
+   * @param status 仮申込、本申込、受講中、受講終了のいずれか
+   * @param after  直前のページの最後の受講生ID（最初のページは0）
+   * @param limit  １ページの最大件数（1～1000）
+   * @return 該当する受講生詳細のページ
+   */
+  @Operation(summary = "受講生コース申込状況検索（ページング）", description = "コースの申込状況で検索をし、該当申込状況のコースを持つ受講生の情報をページ単位で取得します。")
+  @GetMapping("/status/{status}/page")
+  public StudentDetailPage getStudentPageByStatus(@PathVariable @NotBlank String status,
+      @RequestParam(name = "after", defaultValue = "0") @Min(0) int after,
+      @RequestParam(name = "limit", defaultValue = "100") @Min(1) @Max(1000) int limit) {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setStatus(status);
+    return service.searchStudentPage(condition, after, limit);
+  }
+
 }
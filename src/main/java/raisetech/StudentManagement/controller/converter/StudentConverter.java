@@ -1,9 +1,9 @@
 package raisetech.StudentManagement.controller.converter;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Map;
 import org.springframework.stereotype.Component;
 import raisetech.StudentManagement.data.Student;
 import raisetech.StudentManagement.data.StudentApplicationStatus;
@@ -20,6 +20,9 @@ public class StudentConverter {
    * 受講生に紐づく受講生コース情報をマッピングする。 受講生コース情報は受講生に対して複数存在するのでループを回して受講生詳細情報を組み立てる。
    * また、その受講生コース情報と申し込み状況もマッピングをし、最終的には受講生情報、その受講生が申し込みを行なったコース情報、
    * そのコースの申込状況の３点の情報をセットにした受講生詳細のオブジェクトのリストを返します。
+   * <p>
+   * 「受講生ID → コース情報」「受講生ID → 申込状況」の索引を最初に一度だけ作成してから組み立てるので、
+   * 処理量は各リストの件数の合計に比例します。受講生の並び順、コース情報と申込状況の並び順は引数のリストの順序のまま保たれます。
    *
    * @param studentList                  受講生一覧
    * @param studentCourseList            受講生コース情報のリスト
@@ -29,25 +32,24 @@ public class StudentConverter {
   public List<StudentDetail> convertStudentDetails(List<Student> studentList,
       List<StudentCourse> studentCourseList,
       List<StudentApplicationStatus> studentApplicationStatusList) {
-    List<StudentDetail> studentDetails = new ArrayList<>();
+    Map<String, List<StudentCourse>> coursesByStudentId = indexCoursesByStudentId(
+        studentCourseList);
+    Map<String, List<StudentApplicationStatus>> statusesByStudentId = indexStatusesByStudentId(
+        studentCourseList, studentApplicationStatusList);
+
+    List<StudentDetail> studentDetails = new ArrayList<>(studentList.size());
 
     for (Student student : studentList) {
       StudentDetail studentDetail = new StudentDetail();
       studentDetail.setStudent(student);
 
-      // この受講生のコースを抽出
-      List<StudentCourse> matchedCourses = studentCourseList.stream()
-          .filter(course -> student.getId().equals(course.getStudentId()))
-          .collect(Collectors.toList());
-      studentDetail.setStudentCourseList(matchedCourses);
+      // この受講生のコースを索引から取得
+      studentDetail.setStudentCourseList(
+          new ArrayList<>(coursesByStudentId.getOrDefault(student.getId(), List.of())));
 
-      // この受講生の全コースに対応するステータスを集める
-      List<StudentApplicationStatus> matchedStatuses = studentApplicationStatusList.stream()
-          .filter(status -> matchedCourses.stream()
-              .anyMatch(
-                  course -> Objects.equals(course.getId(), status.getStudentCourseId())))
-          .collect(Collectors.toList());
-      studentDetail.setStudentApplicationStatus(matchedStatuses);
+      // この受講生の全コースに対応するステータスを索引から取得
+      studentDetail.setStudentApplicationStatus(
+          new ArrayList<>(statusesByStudentId.getOrDefault(student.getId(), List.of())));
 
       studentDetails.add(studentDetail);
     }
@@ -55,6 +57,55 @@ public class StudentConverter {
     return studentDetails;
   }
 
+  /**
+   * 受講生コース情報を受講生IDごとにまとめた索引を作成します。
+   *
+   * @param studentCourseList 受講生コース情報のリスト
+   * @return 受講生IDをキーとした受講生コース情報の索引
+   */
+  private Map<String, List<StudentCourse>> indexCoursesByStudentId(
+      List<StudentCourse> studentCourseList) {
+    Map<String, List<StudentCourse>> coursesByStudentId = new HashMap<>();
+    for (StudentCourse course : studentCourseList) {
+      coursesByStudentId.computeIfAbsent(course.getStudentId(), key -> new ArrayList<>())
+          .add(course);
+    }
+    return coursesByStudentId;
+  }
+
+  /**
+   * 申込状況を「コースID → 受講生ID」の対応を使って受講生IDごとにまとめた索引を作成します。
+   * 申込状況のリストを先頭から順に振り分けるので、受講生ごとの申込状況は元のリストの順序のまま並びます。
+   *
+   * @param studentCourseList            受講生コース情報のリスト
+   * @param studentApplicationStatusList 受講生コース情報の申込状況のリスト
+   * @return 受講生IDをキーとした申込状況の索引
+   */
+  private Map<String, List<StudentApplicationStatus>> indexStatusesByStudentId(
+      List<StudentCourse> studentCourseList,
+      List<StudentApplicationStatus> studentApplicationStatusList) {
+    Map<Integer, List<String>> studentIdsByCourseId = new HashMap<>();
+    for (StudentCourse course : studentCourseList) {
+      List<String> studentIds = studentIdsByCourseId.computeIfAbsent(course.getId(),
+          key -> new ArrayList<>(1));
+      if (!studentIds.contains(course.getStudentId())) {
+        studentIds.add(course.getStudentId());
+      }
+    }
+
+    Map<String, List<StudentApplicationStatus>> statusesByStudentId = new HashMap<>();
+    for (StudentApplicationStatus status : studentApplicationStatusList) {
+      List<String> studentIds = studentIdsByCourseId.get(status.getStudentCourseId());
+      if (studentIds == null) {
+        continue;
+      }
+      for (String studentId : studentIds) {
+        statusesByStudentId.computeIfAbsent(studentId, key -> new ArrayList<>()).add(status);
+      }
+    }
+    return statusesByStudentId;
+  }
+
 }
 
 
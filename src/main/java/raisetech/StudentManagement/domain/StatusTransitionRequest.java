@@ -0,0 +1,49 @@
+package raisetech.StudentManagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 申込状況の一括変更の内容です。 対象のコースはコース名またはコースIDのリストで指定し、両方を指定した場合は両方を満たすコースを対象とします。
+ * 対象のコースのうち、申込状況が変更前の申込状況であるものだけを変更後の申込状況に変更します。
+ */
+@Schema(description = "申込状況の一括変更")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class StatusTransitionRequest {
+
+  @Schema(description = "対象の受講コース名", example = "Javaコース")
+  private String courseName;
+
+  @Schema(description = "対象の受講生コースIDのリスト", example = "[1, 2, 3]")
+  @Size(max = 10000)
+  private List<Integer> courseIds = new ArrayList<>();
+
+  @Schema(description = "変更前の申込状況", example = "仮申込")
+  @NotBlank
+  private String fromStatus;
+
+  @Schema(description = "変更後の申込状況", example = "本申込")
+  @NotBlank
+  private String toStatus;
+
+  /**
+   * 対象のコースが指定されているかを判定します。
+   *
+   * @return コース名またはコースIDが指定されていればtrue
+   */
+  public boolean hasCourseTarget() {
+    return courseName != null || (courseIds != null && !courseIds.isEmpty());
+  }
+}
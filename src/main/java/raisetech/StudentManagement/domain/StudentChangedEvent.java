@@ -0,0 +1,47 @@
+package raisetech.StudentManagement.domain;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 受講生詳細の登録・更新を通知するイベントです。 登録・更新のトランザクション内で発行し、受け取る側はコミット後に処理します。
+ */
+@Getter
+@AllArgsConstructor
+public class StudentChangedEvent {
+
+  /**
+   * 登録・更新された受講生のIDのリスト
+   */
+  private final List<String> studentIds;
+
+  /**
+   * 更新前の受講生詳細のリスト（新規登録の場合は空）
+   */
+  private final List<StudentDetail> previousDetails;
+
+  /**
+   * 登録・更新後の受講生詳細のリスト（変更後の状態が分からない場合はnull。受講生の集計はデータベースから集計し直します）
+   */
+  private final List<StudentDetail> currentDetails;
+
+  /**
+   * 申込状況の一括変更の場合、その変更の内容（それ以外の場合はnull）
+   */
+  private final StatusTransitionRequest statusTransition;
+
+  public StudentChangedEvent(List<String> studentIds, List<StudentDetail> previousDetails,
+      List<StudentDetail> currentDetails) {
+    this(studentIds, previousDetails, currentDetails, null);
+  }
+
+  /**
+   * 申込状況の一括変更のイベントを作成します。 対象の受講生は変更の内容から受け取る側で求めます。
+   *
+   * @param statusTransition 申込状況の一括変更の内容
+   */
+  public StudentChangedEvent(StatusTransitionRequest statusTransition) {
+    this(List.of(), List.of(), null, statusTransition);
+  }
+}
@@ -0,0 +1,37 @@
+package raisetech.StudentManagement.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生の人数を数える際の条件です。空のリストの項目は条件に含めません。
+ * 同じ項目に複数の値を指定した場合はいずれかに該当する受講生（OR）、異なる項目はすべてに該当する受講生（AND）を対象とします。
+ * コース名と申込状況の条件は、両方を満たすコースを１つ以上持つ受講生を対象とします。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode
+public class StudentCountCondition {
+
+  private List<String> sexes = new ArrayList<>();
+
+  private List<String> areas = new ArrayList<>();
+
+  private List<String> courseNames = new ArrayList<>();
+
+  private List<String> statuses = new ArrayList<>();
+
+  /**
+   * コース単位の条件（コース名・申込状況）が指定されているかを判定します。
+   *
+   * @return コース単位の条件が１つでも指定されていればtrue
+   */
+  public boolean hasCourseCondition() {
+    return !courseNames.isEmpty() || !statuses.isEmpty();
+  }
+}
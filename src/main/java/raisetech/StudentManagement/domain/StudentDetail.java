@@ -2,6 +2,7 @@ package raisetech.StudentManagement.domain;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.Valid;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import lombok.EqualsAndHashCode;
@@ -24,9 +25,9 @@ public class StudentDetail {
   private Student student;
 
   @Valid
-  private List<StudentCourse> studentCourseList;
+  private List<StudentCourse> studentCourseList = new ArrayList<>();
 
   @Valid
-  private List<StudentApplicationStatus> studentApplicationStatus;
+  private List<StudentApplicationStatus> studentApplicationStatus = new ArrayList<>();
 
 }
@@ -0,0 +1,26 @@
+package raisetech.StudentManagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Schema(description = "受講生詳細のページ")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class StudentDetailPage {
+
+  @Schema(description = "このページの受講生詳細（受講生ID順）")
+  private List<StudentDetail> content = new ArrayList<>();
+
+  @Schema(description = "次のページを取得する際に after に指定する受講生ID（最後のページの場合はnull）", example = "1100")
+  private Integer nextCursor;
+
+}
@@ -0,0 +1,33 @@
+package raisetech.StudentManagement.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 集計の単位（コース名・地域など）ごとの受講生の人数です。 GROUP BY による集計結果の１行に対応します。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class StudentGroupCount {
+
+  /**
+   * 集計の単位（コース名または地域）
+   */
+  private String name;
+
+  /**
+   * 申込状況（申込状況ごとに集計した場合のみ）
+   */
+  private String status;
+
+  /**
+   * 受講生の人数
+   */
+  private long studentCount;
+}
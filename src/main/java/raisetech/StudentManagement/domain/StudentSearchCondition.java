@@ -0,0 +1,56 @@
+package raisetech.StudentManagement.domain;
+
+import java.time.LocalDateTime;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * 受講生検索の条件です。nullの項目は条件に含めません。
+ * コース名・申込状況・受講開始日の条件は、すべてを満たすコースを１つ以上持つ受講生を対象とします。
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@EqualsAndHashCode
+public class StudentSearchCondition {
+
+  private String kanaPrefix;
+
+  private Integer minAge;
+
+  private Integer maxAge;
+
+  private String sex;
+
+  private String area;
+
+  private String courseName;
+
+  private String status;
+
+  private LocalDateTime courseStartFrom;
+
+  private LocalDateTime courseStartTo;
+
+  /**
+   * コース単位の条件（コース名・申込状況・受講開始日）が指定されているかを判定します。
+   *
+   * @return コース単位の条件が１つでも指定されていればtrue
+   */
+  public boolean hasCourseCondition() {
+    return courseName != null || status != null || courseStartFrom != null
+        || courseStartTo != null;
+  }
+
+  /**
+   * フリガナの条件のみが指定されているかを判定します。
+   *
+   * @return フリガナの条件だけが指定されていればtrue
+   */
+  public boolean hasOnlyKanaPrefix() {
+    return kanaPrefix != null && minAge == null && maxAge == null && sex == null
+        && area == null && !hasCourseCondition();
+  }
+}
@@ -0,0 +1,29 @@
+package raisetech.StudentManagement.domain;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Map;
+import java.util.TreeMap;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Schema(description = "受講生の集計")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class StudentStatistics {
+
+  @Schema(description = "コース名ごとの受講生の人数", example = "{\"Javaコース\": 120, \"AWSコース\": 80}")
+  private Map<String, Long> studentsByCourse = new TreeMap<>();
+
+  @Schema(description = "コース名・申込状況ごとの受講生の人数", example = "{\"Javaコース\": {\"仮申込\": 20, \"受講中\": 100}}")
+  private Map<String, Map<String, Long>> studentsByCourseAndStatus = new TreeMap<>();
+
+  @Schema(description = "地域ごとの受講生の人数", example = "{\"東京\": 150, \"大阪\": 50}")
+  private Map<String, Long> studentsByArea = new TreeMap<>();
+
+}
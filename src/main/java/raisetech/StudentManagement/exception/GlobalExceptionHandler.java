@@ -1,5 +1,6 @@
 package raisetech.StudentManagement.exception;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.ConstraintViolationException;
 import java.util.List;
 import org.springframework.http.HttpStatus;
@@ -8,6 +9,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.filter.ServerHttpObservationFilter;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @RestControllerAdvice
@@ -15,7 +17,11 @@ public class GlobalExceptionHandler {
 
 
   @ExceptionHandler(StudentNotFoundException.class)
-  public ResponseEntity<ErrorResponse> handleStudentNotFound(StudentNotFoundException ex) {
+  public ResponseEntity<ErrorResponse> handleStudentNotFound(StudentNotFoundException ex,
+      HttpServletRequest request) {
+    // 処理済みの例外もリクエストのメトリクス（http.server.requests）のexceptionタグに残す
+    ServerHttpObservationFilter.findObservationContext(request)
+        .ifPresent(context -> context.setError(ex));
     ErrorResponse error = new ErrorResponse(
         HttpStatus.NOT_FOUND.value(),
         "Not Found",
@@ -115,7 +121,10 @@ public class GlobalExceptionHandler {
   }
 
   @ExceptionHandler(PracticeException.class)
-  public ResponseEntity<ErrorResponse> handlePracticeException(PracticeException ex) {
+  public ResponseEntity<ErrorResponse> handlePracticeException(PracticeException ex,
+      HttpServletRequest request) {
+    ServerHttpObservationFilter.findObservationContext(request)
+        .ifPresent(context -> context.setError(ex));
     ErrorResponse error = new ErrorResponse(404, "Not Found", List.of(ex.getMessage()));
     return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
   }
@@ -0,0 +1,210 @@
+package raisetech.StudentManagement.job;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import raisetech.StudentManagement.config.CacheConfig;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StatusTransitionRequest;
+import raisetech.StudentManagement.domain.StudentChangedEvent;
+import raisetech.StudentManagement.repository.JobCheckpointRepository;
+import raisetech.StudentManagement.repository.StudentRepository;
+
+/**
+ * 受講終了日を過ぎたコースの受講中の申込状況を受講終了に変更するバッチ処理です。 仮申込・本申込のままのコースは変更しません。
+ * <p>
+ * student-management.course-expiration.enabled=true の場合のみ、student-management.course-expiration.cron
+ * の日時に実行します。 対象のコースはコースID順に{@code chunkSize}件ずつキーセット方式で取得し、１チャンクごとに短いトランザクションで
+ * 申込状況をまとめて更新するので、件数が多くても長時間ロックを保持しません。 チャンクごとに処理済みの最後のコースIDをチェックポイントとして
+ * 同じトランザクションで保存し、途中で停止した場合は次回の実行時にその続きから再開します。 最後まで処理するとチェックポイントを0に戻します。
+ * <p>
+ * 各チャンクのトランザクションではまずチェックポイントの行をSELECT ... FOR UPDATEでロックするので、複数のインスタンスで同時に実行されても
+ * チャンクは１つずつ処理されます。 ロックして読んだチェックポイントが自分の処理済みの位置と異なる場合は、別のインスタンスが処理を進めているので中断します。
+ * <p>
+ * 処理件数とチャンクごとの処理時間はメトリクス（student.course.expiration.statuses、student.course.expiration.chunk）に記録します。
+ */
+@Slf4j
+@Component
+public class CourseExpirationJob {
+
+  /**
+   * チェックポイントを保存する際のバッチ処理の名前です。
+   */
+  static final String JOB_NAME = "course-expiration";
+
+  /**
+   * １チャンクで処理するコースの最大件数です。
+   */
+  static final int MAX_CHUNK_SIZE = 1000;
+
+  private static final String EXPIRED_FROM_STATUS = "受講中";
+  private static final String EXPIRED_STATUS = "受講終了";
+
+  /**
+   * 別のインスタンスがチェックポイントを進めていたことを表す処理結果です。
+   */
+  private static final ChunkResult TAKEN_OVER = new ChunkResult(-1, 0, List.of());
+
+  private final StudentRepository repository;
+  private final JobCheckpointRepository checkpointRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final CacheManager cacheManager;
+  private final boolean enabled;
+  private final int chunkSize;
+  /**
+   * 同じインスタンス内の実行の重複を防ぐロックです。 インスタンス間はチェックポイントの行ロックで排他します。
+   */
+  private final ReentrantLock lock = new ReentrantLock();
+
+  private final Counter expiredStatuses;
+  private final Timer chunkTimer;
+
+  public CourseExpirationJob(StudentRepository repository,
+      JobCheckpointRepository checkpointRepository, PlatformTransactionManager transactionManager,
+      ApplicationEventPublisher eventPublisher, CacheManager cacheManager,
+      MeterRegistry meterRegistry,
+      @Value("${student-management.course-expiration.enabled:false}") boolean enabled,
+      @Value("${student-management.course-expiration.chunk-size:500}") int chunkSize) {
+    // 対象のコースIDは１回のIN句で指定するため、IN句の上限を超えないようにする
+    if (chunkSize <= 0 || chunkSize > MAX_CHUNK_SIZE) {
+      throw new IllegalArgumentException(
+          "student-management.course-expiration.chunk-size は1以上" + MAX_CHUNK_SIZE + "以下である必要があります");
+    }
+    this.repository = repository;
+    this.checkpointRepository = checkpointRepository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.eventPublisher = eventPublisher;
+    this.cacheManager = cacheManager;
+    this.enabled = enabled;
+    this.chunkSize = chunkSize;
+    this.expiredStatuses = Counter.builder("student.course.expiration.statuses")
+        .description("受講終了に変更した申込状況の件数")
+        .register(meterRegistry);
+    this.chunkTimer = Timer.builder("student.course.expiration.chunk")
+        .description("１チャンクの処理時間")
+        .register(meterRegistry);
+  }
+
+  /**
+   * 設定した日時に実行します。 無効の場合は何もしません。
+   */
+  @Scheduled(cron = "${student-management.course-expiration.cron:0 0 3 * * *}")
+  public void runScheduled() {
+    if (enabled) {
+      run(LocalDateTime.now());
+    }
+  }
+
+  /**
+   * 受講終了日が指定した日時より前のコースの受講中の申込状況を受講終了に変更します。 チェックポイントが保存されている場合はその続きから処理します。
+   * 別のスレッドで実行中の場合は何もしません。 別のインスタンスで実行中の場合は、そのインスタンスが処理を進めた時点で中断します。
+   *
+   * @param before 受講終了日の上限（この日時は含まない）
+   * @return 受講終了に変更した申込状況の件数
+   */
+  public int run(LocalDateTime before) {
+    if (!lock.tryLock()) {
+      log.info("受講終了の更新は実行中のためスキップしました");
+      return 0;
+    }
+    try {
+      Integer checkpoint = checkpointRepository.findLastId(JOB_NAME);
+      int lastId = checkpoint == null ? 0 : checkpoint;
+      long startedAt = System.nanoTime();
+      int total = 0;
+
+      while (true) {
+        int afterId = lastId;
+        ChunkResult result = chunkTimer.record(() -> processChunk(before, afterId));
+        if (result == null) {
+          break;
+        }
+        if (result == TAKEN_OVER) {
+          log.info("受講終了の更新は別のインスタンスで実行中のため中断しました: {}件", total);
+          return total;
+        }
+        lastId = result.lastId();
+        total += result.updated();
+        expiredStatuses.increment(result.updated());
+        evict(result.studentIds());
+      }
+
+      long elapsedMillis = Math.max(
+          Duration.ofNanos(System.nanoTime() - startedAt).toMillis(), 1);
+      log.info("受講終了の更新が完了しました: {}件 {}ms（{}件/秒）", total, elapsedMillis,
+          total * 1000L / elapsedMillis);
+      return total;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * チェックポイントの行をロックし、指定したIDより後ろの対象のコースを１チャンク分取得して、申込状況の更新とチェックポイントの保存を１つのトランザクションで行います。
+   * 対象のコースIDと変更前後の申込状況を{@link StudentChangedEvent}で発行し、コミット後にスナップショットと集計へ反映します。
+   * 対象のコースがない場合はチェックポイントを0に戻します。
+   *
+   * @return 処理結果（対象のコースがない場合はnull、別のインスタンスが処理を進めていた場合は{@link #TAKEN_OVER}）
+   */
+  private ChunkResult processChunk(LocalDateTime before, int afterId) {
+    return transactionTemplate.execute(status -> {
+      Integer checkpoint = checkpointRepository.lockLastId(JOB_NAME);
+      if ((checkpoint == null ? 0 : checkpoint) != afterId) {
+        return TAKEN_OVER;
+      }
+
+      List<StudentCourse> courses = repository.findExpiredCourses(before, afterId, chunkSize);
+      if (courses.isEmpty()) {
+        checkpointRepository.saveLastId(JOB_NAME, 0);
+        return null;
+      }
+
+      List<Integer> courseIds = courses.stream().map(StudentCourse::getId).toList();
+      List<String> studentIds = courses.stream().map(StudentCourse::getStudentId).distinct()
+          .toList();
+
+      int updated = repository.expireApplicationStatuses(courseIds);
+      int lastId = courseIds.getLast();
+      checkpointRepository.saveLastId(JOB_NAME, lastId);
+
+      eventPublisher.publishEvent(new StudentChangedEvent(
+          new StatusTransitionRequest(null, courseIds, EXPIRED_FROM_STATUS, EXPIRED_STATUS)));
+      return new ChunkResult(lastId, updated, studentIds);
+    });
+  }
+
+  /**
+   * コミット後に、変更した受講生詳細のキャッシュを削除します。
+   */
+  private void evict(List<String> studentIds) {
+    Cache cache = cacheManager.getCache(CacheConfig.STUDENT_DETAIL_CACHE);
+    if (cache != null) {
+      studentIds.forEach(id -> cache.evict(CacheConfig.studentDetailKey(id)));
+    }
+  }
+
+  /**
+   * １チャンクの処理結果です。
+   *
+   * @param lastId     処理した最後のコースID
+   * @param updated    受講終了に変更した申込状況の件数
+   * @param studentIds 変更した受講生のIDのリスト
+   */
+  private record ChunkResult(int lastId, int updated, List<String> studentIds) {
+
+  }
+}
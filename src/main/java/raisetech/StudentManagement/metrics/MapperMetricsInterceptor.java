@@ -0,0 +1,118 @@
+package raisetech.StudentManagement.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * マッパーのステートメントごとに実行時間と件数をメトリクスとして記録するMyBatisのインターセプターです。
+ * <p>
+ * 実行時間は mybatis.statement（タイマー）、検索の取得件数・更新系の更新件数は mybatis.statement.rows（分布）に、
+ * ステートメントID（search、findStudentsByIdsなど）ごとのタグを付けて記録します。 実行時間が閾値
+ * （student-management.mybatis.slow-query-threshold、既定は500ms）以上のステートメントはWARNでログに出力します。
+ */
+@Slf4j
+@Component
+@Intercepts({
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query",
+        args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class,
+            CacheKey.class, BoundSql.class}),
+    @Signature(type = Executor.class, method = "queryCursor",
+        args = {MappedStatement.class, Object.class, RowBounds.class}),
+    @Signature(type = Executor.class, method = "update",
+        args = {MappedStatement.class, Object.class})})
+public class MapperMetricsInterceptor implements Interceptor {
+
+  private final MeterRegistry registry;
+  private final Duration slowQueryThreshold;
+
+  public MapperMetricsInterceptor(MeterRegistry registry,
+      @Value("${student-management.mybatis.slow-query-threshold:500ms}")
+      Duration slowQueryThreshold) {
+    this.registry = registry;
+    this.slowQueryThreshold = slowQueryThreshold;
+  }
+
+  @Override
+  public Object intercept(Invocation invocation) throws Throwable {
+    MappedStatement mappedStatement = (MappedStatement) invocation.getArgs()[0];
+    String statement = statementName(mappedStatement);
+    String type = mappedStatement.getSqlCommandType().name();
+
+    String outcome = "success";
+    long start = System.nanoTime();
+    try {
+      Object result = invocation.proceed();
+      recordRows(statement, type, result);
+      return result;
+    } catch (Throwable e) {
+      outcome = "error";
+      throw e;
+    } finally {
+      long elapsed = System.nanoTime() - start;
+      Timer.builder("mybatis.statement")
+          .description("マッパーのステートメントの実行時間")
+          .tag("statement", statement)
+          .tag("type", type)
+          .tag("outcome", outcome)
+          .publishPercentileHistogram()
+          .register(registry)
+          .record(elapsed, TimeUnit.NANOSECONDS);
+
+      if (elapsed >= slowQueryThreshold.toNanos()) {
+        log.warn("スロークエリ: {} ({}ms) {}", mappedStatement.getId(),
+            TimeUnit.NANOSECONDS.toMillis(elapsed),
+            mappedStatement.getBoundSql(invocation.getArgs()[1]).getSql()
+                .replaceAll("\\s+", " ").trim());
+      }
+    }
+  }
+
+  /**
+   * 検索結果のリストの件数、または更新系の更新件数を記録します。 カーソルは読み出す前に件数が分からないため記録しません。
+   */
+  private void recordRows(String statement, String type, Object result) {
+    long rows;
+    if (result instanceof Collection<?> collection) {
+      rows = collection.size();
+    } else if (result instanceof Integer count) {
+      rows = count;
+    } else {
+      return;
+    }
+    DistributionSummary.builder("mybatis.statement.rows")
+        .description("マッパーのステートメントで取得・更新した件数")
+        .baseUnit("rows")
+        .tag("statement", statement)
+        .tag("type", type)
+        .publishPercentileHistogram()
+        .register(registry)
+        .record(rows);
+  }
+
+  /**
+   * 名前空間（マッパーのインターフェース名）を除いたステートメントIDを返します。
+   */
+  private String statementName(MappedStatement mappedStatement) {
+    String id = mappedStatement.getId();
+    return id.substring(id.lastIndexOf('.') + 1);
+  }
+}
@@ -0,0 +1,148 @@
+package raisetech.StudentManagement.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * エンドポイントごとのレスポンスサイズ（バイト数）を http.server.response.size として記録するフィルターです。
+ * タグは http.server.requests（処理時間）と同じ method・uri・status・outcome を付けるので、 処理時間とレスポンスサイズを同じ単位で比較できます。
+ * 非同期で書き出すレスポンス（NDJSONの出力など）は書き出しが完了した時点で記録します。
+ */
+@Component
+public class ResponseSizeMetricsFilter extends OncePerRequestFilter {
+
+  private final MeterRegistry registry;
+
+  public ResponseSizeMetricsFilter(MeterRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+      FilterChain filterChain) throws ServletException, IOException {
+    CountingResponseWrapper countingResponse = new CountingResponseWrapper(response);
+    try {
+      filterChain.doFilter(request, countingResponse);
+    } finally {
+      if (request.isAsyncStarted()) {
+        request.getAsyncContext().addListener(new AsyncListener() {
+          @Override
+          public void onComplete(AsyncEvent event) {
+            record(request, countingResponse);
+          }
+
+          @Override
+          public void onTimeout(AsyncEvent event) {
+          }
+
+          @Override
+          public void onError(AsyncEvent event) {
+          }
+
+          @Override
+          public void onStartAsync(AsyncEvent event) {
+          }
+        });
+      } else {
+        record(request, countingResponse);
+      }
+    }
+  }
+
+  private void record(HttpServletRequest request, CountingResponseWrapper response) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    int status = response.getStatus();
+    DistributionSummary.builder("http.server.response.size")
+        .description("レスポンスボディのサイズ")
+        .baseUnit("bytes")
+        .tag("method", request.getMethod())
+        .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+        .tag("status", String.valueOf(status))
+        .tag("outcome", Outcome.forStatus(status).name())
+        .register(registry)
+        .record(response.getWrittenBytes());
+  }
+
+  /**
+   * getOutputStream()で書き出されたバイト数を数えるレスポンスです。 Spring MVCのメッセージコンバーター（JSONなど）はすべてこちらで書き出します。
+   */
+  static class CountingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final AtomicLong writtenBytes = new AtomicLong();
+    private ServletOutputStream outputStream;
+
+    CountingResponseWrapper(HttpServletResponse response) {
+      super(response);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+      if (outputStream == null) {
+        outputStream = new CountingOutputStream(super.getOutputStream(), writtenBytes);
+      }
+      return outputStream;
+    }
+
+    long getWrittenBytes() {
+      return writtenBytes.get();
+    }
+  }
+
+  private static class CountingOutputStream extends ServletOutputStream {
+
+    private final ServletOutputStream delegate;
+    private final AtomicLong writtenBytes;
+
+    CountingOutputStream(ServletOutputStream delegate, AtomicLong writtenBytes) {
+      this.delegate = delegate;
+      this.writtenBytes = writtenBytes;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      delegate.write(b);
+      writtenBytes.incrementAndGet();
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      delegate.write(b, off, len);
+      writtenBytes.addAndGet(len);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      delegate.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      delegate.close();
+    }
+
+    @Override
+    public boolean isReady() {
+      return delegate.isReady();
+    }
+
+    @Override
+    public void setWriteListener(WriteListener writeListener) {
+      delegate.setWriteListener(writeListener);
+    }
+  }
+}
@@ -0,0 +1,37 @@
+package raisetech.StudentManagement.repository;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * バッチ処理の再開位置（チェックポイント）を保持するテーブルと紐づくRepositoryです。
+ */
+@Mapper
+public interface JobCheckpointRepository {
+
+  /**
+   * バッチ処理の再開位置を取得します。
+   *
+   * @param jobName バッチ処理の名前
+   * @return 処理済みの最後のID（登録されていない場合はnull）
+   */
+  Integer findLastId(@Param("jobName") String jobName);
+
+  /**
+   * バッチ処理の再開位置を、行ロック（SELECT ... FOR UPDATE）を取って取得します。 ロックはトランザクションの終了まで保持するので、
+   * 複数のインスタンスで同じバッチ処理を実行しても、チェックポイントの読み出しから更新までは１つのインスタンスずつ行われます。
+   *
+   * @param jobName バッチ処理の名前
+   * @return 処理済みの最後のID（登録されていない場合はnull）
+   */
+  Integer lockLastId(@Param("jobName") String jobName);
+
+  /**
+   * バッチ処理の再開位置を更新します。バッチ処理ごとの行はマイグレーションで作成しておくこと。
+   *
+   * @param jobName バッチ処理の名前
+   * @param lastId  処理済みの最後のID
+   * @return 更新した行数（行が作成されていない場合は0）
+   */
+  int saveLastId(@Param("jobName") String jobName, @Param("lastId") int lastId);
+}
@@ -4,9 +4,15 @@ import java.time.LocalDateTime;
 import java.util.List;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
 import raisetech.StudentManagement.data.Student;
 import raisetech.StudentManagement.data.StudentApplicationStatus;
 import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StatusTransitionRequest;
+import raisetech.StudentManagement.domain.StudentCountCondition;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.domain.StudentGroupCount;
+import raisetech.StudentManagement.domain.StudentSearchCondition;
 
 /**
  * 受講生テーブルと受講生コース情報テーブル、および、コース申し込み状況テーブルと紐づくRepositoryです。
@@ -21,6 +27,80 @@ public interface StudentRepository {
    */
   List<Student> search();
 
+  /**
+   * 受講生詳細の全件検索を行います。受講生・受講生コース情報・申込状況を結合し、１回のクエリで受講生詳細を組み立てます。
+   *
+   * @return 受講生詳細一覧（全件、受講生ID順）
+   */
+  List<StudentDetail> searchStudentDetailList();
+
+  /**
+   * 受講生詳細の全件をカーソルで受講生ID順に１件ずつ読み出します。全件をメモリ上に保持しないため、件数が多くてもメモリ使用量は一定です。
+   * カーソルはトランザクション内で使用し、使用後は必ずクローズしてください。
+   *
+   * @return 受講生詳細のカーソル（受講生ID順）
+   */
+  Cursor<StudentDetail> streamStudentDetailList();
+
+  /**
+   * 指定したIDの受講生の受講生詳細を、受講生・受講生コース情報・申込状況を結合した１回のクエリで取得します。
+   *
+   * @param studentIds 受講生IDのリスト（空のリストは指定しないこと）
+   * @return 受講生詳細のリスト（受講生ID順）
+   */
+  List<StudentDetail> findStudentDetailsByIds(@Param("studentIds") List<String> studentIds);
+
+  /**
+   * 指定したIDの受講生の受講生詳細を、受講生・受講生コース情報・申込状況の行ロック（SELECT ... FOR UPDATE）を取って取得します。
+   * 同じ受講生の更新はトランザクションの終了まで待たされるので、取得した受講生詳細は更新前の最新の状態です。
+   *
+   * @param id 受講生ID
+   * @return 受講生詳細（該当する受講生がいない場合はnull）
+   */
+  StudentDetail findStudentDetailForUpdate(String id);
+
+  /**
+   * 条件に該当する受講生の受講生詳細を受講生ID順に１ページ分検索します。OFFSETではなく直前のページの最後の受講生IDを起点にするので、
+   * 後ろのページでも検索コストは変わりません。 受講生の絞り込みと受講生コース情報・申込状況の結合を１回のクエリで行います。
+   * コース単位の条件を指定した場合は、条件を満たすコースとその申込状況のみを設定します。
+   *
+   * @param condition 検索条件（nullの項目は条件に含めない）
+   * @param after     直前のページの最後の受講生ID（最初のページは0）
+   * @param limit     取得する受講生の最大件数
+   * @return afterより大きい受講生IDを持つ、条件に該当する受講生詳細のリスト（受講生ID順）
+   */
+  List<StudentDetail> findStudentDetailPage(@Param("condition") StudentSearchCondition condition,
+      @Param("after") int after, @Param("limit") int limit);
+
+  /**
+   * 条件に該当する受講生の人数を数えます。
+   *
+   * @param condition 条件（空のリストの項目は条件に含めない）
+   * @return 受講生の人数
+   */
+  long countStudents(@Param("condition") StudentCountCondition condition);
+
+  /**
+   * コース名ごとの受講生の人数を集計します。同じコース名のコースを複数持つ受講生は１人として数えます。
+   *
+   * @return コース名ごとの受講生の人数
+   */
+  List<StudentGroupCount> countStudentsByCourseName();
+
+  /**
+   * コース名・申込状況ごとの受講生の人数を集計します。
+   *
+   * @return コース名・申込状況ごとの受講生の人数
+   */
+  List<StudentGroupCount> countStudentsByCourseNameAndStatus();
+
+  /**
+   * 地域ごとの受講生の人数を集計します。
+   *
+   * @return 地域ごとの受講生の人数
+   */
+  List<StudentGroupCount> countStudentsByArea();
+
   /**
    * 受講生の検索を行います。
    *
@@ -44,6 +124,14 @@ public interface StudentRepository {
    */
   List<StudentCourse> searchStudentCourse(String studentId);
 
+  /**
+   * 指定した受講生IDに紐づく受講生コース情報を検索します。
+   *
+   * @param studentIds 受講生IDのリスト（空のリストは指定しないこと）
+   * @return 指定した受講生IDに紐づく受講生コース情報のリスト（コースID順）
+   */
+  List<StudentCourse> findCoursesByStudentIds(@Param("studentIds") List<String> studentIds);
+
   /**
    * 受講生を新規登録します。IDに関しては自動採番を行う。
    *
@@ -63,6 +151,20 @@ public interface StudentRepository {
   void registerStudentCourse(StudentCourse studentCourse);
 
 
+  /**
+   * 複数の受講生を１回のINSERTでまとめて新規登録します。IDに関しては自動採番を行い、各受講生に設定します。
+   *
+   * @param students 受講生のリスト（空のリストは指定しないこと）
+   */
+  void registerStudents(@Param("students") List<Student> students);
+
+  /**
+   * 複数の受講生コース情報を１回のINSERTでまとめて新規登録します。IDに関しては自動採番を行い、各受講生コース情報に設定します。
+   *
+   * @param studentCourses 受講生コース情報のリスト（空のリストは指定しないこと）
+   */
+  void registerStudentCourses(@Param("studentCourses") List<StudentCourse> studentCourses);
+
   /**
    * 受講生を更新します。
    *
@@ -77,6 +179,13 @@ public interface StudentRepository {
    */
   void updateStudentCourse(StudentCourse studentCourse);
 
+  /**
+   * 複数の受講生コース情報のコース名を１回のUPDATEでまとめて更新します。
+   *
+   * @param studentCourses 受講生コース情報のリスト（空のリストは指定しないこと）
+   */
+  void updateStudentCourses(@Param("studentCourses") List<StudentCourse> studentCourses);
+
   /**
    * すべての受講生の申し込んでいるコースの申込状況の全件検索を行います。
    *
@@ -84,6 +193,15 @@ public interface StudentRepository {
    */
   List<StudentApplicationStatus> searchStudentApplicationStatus();
 
+  /**
+   * 指定したコースIDに紐づく申込状況を検索します。
+   *
+   * @param courseIds 受講生コース情報のIDのリスト（空のリストは指定しないこと）
+   * @return 指定したコースIDに紐づく申込状況のリスト
+   */
+  List<StudentApplicationStatus> findStatusesByCourseIds(
+      @Param("courseIds") List<Integer> courseIds);
+
   /**
    * 受講生コース情報の申し込み状況を新規登録します。新規登録時は「仮申込」として登録されます。IDに関しては自動採番を行う。
    *
@@ -91,6 +209,13 @@ public interface StudentRepository {
    */
   void registerApplicationStatus(StudentApplicationStatus status);
 
+  /**
+   * 複数の申込状況を１回のINSERTでまとめて新規登録します。IDに関しては自動採番を行い、各申込状況に設定します。
+   *
+   * @param statuses 受講生コース情報の申込状況のリスト（空のリストは指定しないこと）
+   */
+  void registerApplicationStatuses(@Param("statuses") List<StudentApplicationStatus> statuses);
+
   /**
    * 受講生コース情報の申込状況を更新します。
    *
@@ -98,10 +223,25 @@ public interface StudentRepository {
    */
   void updateApplicationStatus(StudentApplicationStatus status);
 
+  /**
+   * 複数の申込状況を１回のUPDATEでまとめて更新します。
+   *
+   * @param statuses 受講生コース情報の申込状況のリスト（空のリストは指定しないこと）
+   */
+  void updateApplicationStatuses(@Param("statuses") List<StudentApplicationStatus> statuses);
+
+  /**
+   * 対象のコースのうち申込状況が変更前の申込状況であるものを、１回のUPDATEでまとめて変更後の申込状況に変更します。
+   *
+   * @param request 申込状況の一括変更の内容
+   * @return 変更した申込状況の件数
+   */
+  int transitionApplicationStatuses(@Param("request") StatusTransitionRequest request);
+
   /**
    * 名前が「prefix」から始まる受講生リストを取得します。
    *
-   * @param prefix 受講生のカナ名の先頭１文字目
+   * @param prefix 受講生のカナ名の先頭の文字列（１文字以上）
    * @return 指定した文字から始まる受講生一覧
    */
   List<Student> findStudentsByNamePrefix(@Param("prefix") String prefix);
@@ -131,6 +271,36 @@ public interface StudentRepository {
    */
   List<StudentCourse> findStudentsByCourse(@Param("courseName") String courseName);
 
+  /**
+   * 指定したコース名のコースに所属している受講生を、そのコースのコース情報と申込状況とともに取得します。
+   * 受講生コース情報・受講生・申込状況を結合したクエリ１回で取得し、同じコースを複数持つ受講生も１件にまとめます。
+   *
+   * @param courseName 受講コース名
+   * @return 受講生詳細のリスト（受講生ID順）
+   */
+  List<StudentDetail> findStudentDetailsByCourseName(@Param("courseName") String courseName);
+
+  /**
+   * 受講終了日が指定した日時より前で、受講中の申込状況を持つコースを、指定したIDより後ろからID順に取得します。
+   * 直前に取得した最後のIDを起点にするキーセット方式なので、後ろの範囲でも検索コストは変わりません。
+   *
+   * @param before  受講終了日の上限（この日時は含まない）
+   * @param afterId 直前に取得した最後のコースID（最初は0）
+   * @param limit   最大件数
+   * @return 受講生コース情報のリスト（コースID順）
+   */
+  List<StudentCourse> findExpiredCourses(@Param("before") LocalDateTime before,
+      @Param("afterId") int afterId, @Param("limit") int limit);
+
+  /**
+   * 指定したコースの申込状況のうち受講中のものを、１回のUPDATEでまとめて受講終了に変更します。
+   * 仮申込・本申込のまま受講終了日を過ぎたコースは受講していないため変更しません（申込状況は１段階ずつしか進めないため）。
+   *
+   * @param courseIds 受講生コースIDのリスト（空のリストは指定しないこと）
+   * @return 変更した申込状況の件数
+   */
+  int expireApplicationStatuses(@Param("courseIds") List<Integer> courseIds);
+
   /**
    * 引数に指定する２つの日付の間に受講がスタートする受講生のコース情報のリストを返します。
    *
@@ -141,6 +311,25 @@ public interface StudentRepository {
   List<StudentCourse> findCoursesByStartDateRange(@Param("from") LocalDateTime from,
       @Param("to") LocalDateTime to);
 
+  /**
+   * 受講期間が指定した期間（両端を含む）と重なるコースを持つ受講生を、該当するコース情報と申込状況とともに取得します。
+   * 受講開始日がto以前かつ受講終了日がfrom以降のコースが対象です。
+   *
+   * @param from 検索区間の始まりの日時
+   * @param to   検索区間の終わりの日時
+   * @return 受講生詳細のリスト（受講生ID順）
+   */
+  List<StudentDetail> findStudentDetailsByCourseActiveRange(@Param("from") LocalDateTime from,
+      @Param("to") LocalDateTime to);
+
+  /**
+   * 受講終了日が指定した日時より前のコースを持つ受講生を、該当するコース情報と申込状況とともに取得します。
+   *
+   * @param before この日時より前に受講が終了するコースを対象とする
+   * @return 受講生詳細のリスト（受講生ID順）
+   */
+  List<StudentDetail> findStudentDetailsByCourseEndBefore(@Param("before") LocalDateTime before);
+
   /**
    * 受講生コース情報のオブジェクトとそれに紐づく受講生オブジェクトを集めたリストを返します。
    *
@@ -156,4 +345,13 @@ public interface StudentRepository {
    * @return 該当する受講生の申込状況オブジェクトのリスト
    */
   List<StudentApplicationStatus> findStudentsByStatus(@Param("status") String status);
+
+  /**
+   * 指定した申込状況のコースを持つ受講生を、該当するコース情報と申込状況とともに取得します。
+   * 申込状況・受講生コース情報・受講生を結合したクエリ１回で取得します。
+   *
+   * @param status 申込状況
+   * @return 受講生詳細のリスト（受講生ID順）
+   */
+  List<StudentDetail> findStudentDetailsByStatus(@Param("status") String status);
 }
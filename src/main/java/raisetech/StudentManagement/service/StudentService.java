@@ -1,78 +1,241 @@
 package raisetech.StudentManagement.service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import org.apache.ibatis.cursor.Cursor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import raisetech.StudentManagement.config.CacheConfig;
 import raisetech.StudentManagement.controller.converter.StudentConverter;
 import raisetech.StudentManagement.data.Student;
 import raisetech.StudentManagement.data.StudentApplicationStatus;
 import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StatusTransitionRequest;
+import raisetech.StudentManagement.domain.StudentChangedEvent;
+import raisetech.StudentManagement.domain.StudentCountCondition;
 import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.domain.StudentDetailPage;
+import raisetech.StudentManagement.domain.StudentSearchCondition;
 import raisetech.StudentManagement.exception.StudentNotFoundException;
 import raisetech.StudentManagement.repository.StudentRepository;
+import raisetech.StudentManagement.snapshot.StudentSnapshotService;
 
 /**
  * 受講生情報を取り扱うサービスです。 受講生の検索や登録・更新処理を行います。
+ * <p>
+ * 受講生のスナップショットが有効な場合、検索はデータベースに問い合わせずスナップショットから行います。
+ * 登録・更新時は{@link StudentChangedEvent}を発行し、コミット後にスナップショットへ反映します。
  */
 @Service
 public class StudentService {
 
+  /**
+   * IN句に指定するIDの最大件数です。これを超える場合は分割してクエリを発行します。
+   */
+  static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+  /**
+   * 一括登録・一括更新の１回のSQLで扱う最大件数です。これを超える場合は分割して実行します。
+   */
+  static final int BULK_INSERT_CHUNK_SIZE = 500;
+
+  /**
+   * 申込状況の一覧です。申込状況はこの順に１段階ずつしか進められません。
+   */
+  static final List<String> STATUS_ORDER = List.of("仮申込", "本申込", "受講中", "受講終了");
+
   private StudentRepository repository;
   private StudentConverter converter;
+  private ExecutorService queryExecutor;
+  private StudentSnapshotService snapshot;
+  private ApplicationEventPublisher eventPublisher;
 
   @Autowired
-  public StudentService(StudentRepository repository, StudentConverter converter) {
+  public StudentService(StudentRepository repository, StudentConverter converter,
+      ExecutorService queryExecutor, StudentSnapshotService snapshot,
+      ApplicationEventPublisher eventPublisher) {
     this.repository = repository;
     this.converter = converter;
+    this.queryExecutor = queryExecutor;
+    this.snapshot = snapshot;
+    this.eventPublisher = eventPublisher;
   }
 
   /**
    * 受講生詳細の一覧検索です。 全件検索を行うので、条件指定は行いません。
+   * 受講生・受講生コース情報・申込状況は結合クエリ１回で取得します。
    *
    * @return 受講生詳細一覧（全件）
    */
   public List<StudentDetail> searchStudentList() {
-    List<Student> studentList = repository.search();
-    List<StudentCourse> studentCourseList = repository.searchStudentCourseList();
-    List<StudentApplicationStatus> studentApplicationStatusList = repository.searchStudentApplicationStatus();
-    return converter.convertStudentDetails(studentList, studentCourseList,
-        studentApplicationStatusList);
+    if (snapshot.isEnabled()) {
+      return snapshot.current().findAll();
+    }
+    return repository.searchStudentDetailList();
+  }
+
+  /**
+   * 受講生詳細の全件を受講生ID順に１件ずつ取り出し、引数の処理に渡します。 全件をリストにまとめずにカーソルで読み出すので、件数が多くてもメモリ使用量は一定です。
+   *
+   * @param consumer 受講生詳細を１件ずつ受け取る処理
+   */
+  @Transactional(readOnly = true)
+  public void exportStudentDetails(Consumer<StudentDetail> consumer) {
+    try (Cursor<StudentDetail> cursor = repository.streamStudentDetailList()) {
+      cursor.forEach(consumer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 
   /**
    * 受講生詳細検索です。 IDに紐づく受講生情報を取得した後、その受講生に紐づく受講生コース情報、およびコースの申込状況を取得して設定します。
+   * コースの申込状況はコースIDを指定して１回のクエリでまとめて取得するので、コース数に関わらずクエリ数は一定です。
+   * 検索結果は受講生ID（先頭の0を除いたもの）をキーにキャッシュし、同じIDへの同時アクセスでもデータベースへの問い合わせは１回になります。
+   * キャッシュの読み込みは非同期モードで仮想スレッドが行うので、データベースの応答待ちでキャリアスレッドをピン留めしません（{@link CacheConfig}）。
+   * 検索は読み込みを行う仮想スレッドで順に実行するので、キャッシュミス１回あたりに使うコネクションは１本です。
    *
    * @param id 受講生ID
-   * @return 受講生詳細
+   * @return 受講生詳細（該当する受講生が存在しない場合はnull）
    */
+  @Cacheable(cacheNames = CacheConfig.STUDENT_DETAIL_CACHE,
+      key = "T(raisetech.StudentManagement.config.CacheConfig).studentDetailKey(#id)", sync = true)
   public StudentDetail searchStudent(String id) {
+    if (snapshot.isEnabled()) {
+      return snapshot.current().findById(id);
+    }
+    return loadStudentDetail(id);
+  }
+
+  /**
+   * IDに紐づく受講生・受講生コース情報・申込状況をデータベースから取得して受講生詳細を組み立てます。
+   * 検索は呼び出し元のスレッドで順に実行します（トランザクション内から呼び出しても同じコネクションを使います）。
+   *
+   * @param id 受講生ID
+   * @return 受講生詳細（該当する受講生が存在しない場合はnull）
+   */
+  private StudentDetail loadStudentDetail(String id) {
     Student student = repository.searchStudent(id);
+    if (student == null) {
+      return null;
+    }
     List<StudentCourse> studentCourse = repository.searchStudentCourse(student.getId());
-    List<StudentApplicationStatus> statusList = new ArrayList<>();
-    studentCourse.stream().map(course -> course.getId()).forEach(courseId -> {
-      List<StudentApplicationStatus> studentApplicationStatusList = repository.searchStudentApplicationStatus();
-      studentApplicationStatusList.stream()
-          .filter(status -> courseId.equals(status.getStudentCourseId())).forEach(statusList::add);
-    });
+    List<StudentApplicationStatus> statusList = findStatusesByCourses(studentCourse);
     return new StudentDetail(student, studentCourse, statusList);
   }
 
+  /**
+   * 検索処理を仮想スレッドで非同期に実行します。 トランザクション外の読み取り専用の検索にのみ使用します。
+   *
+   * @param query 検索処理
+   * @return 検索結果のFuture
+   */
+  private <T> CompletableFuture<T> supplyAsync(Supplier<T> query) {
+    return CompletableFuture.supplyAsync(query, queryExecutor);
+  }
+
+  /**
+   * 非同期に実行した検索の完了を待って結果を返します。 検索中に発生した実行時例外はそのまま呼び出し元に送出します。
+   *
+   * @param future 検索結果のFuture
+   * @return 検索結果
+   */
+  private static <T> T join(CompletableFuture<T> future) {
+    try {
+      return future.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  /**
+   * 受講生のリストに紐づく受講生コース情報を取得します。受講生IDが多い場合は分割してクエリを発行します。
+   *
+   * @param studentList 受講生のリスト
+   * @return 受講生に紐づく受講生コース情報のリスト
+   */
+  private List<StudentCourse> findCoursesByStudents(List<Student> studentList) {
+    List<String> studentIds = studentList.stream()
+        .map(Student::getId)
+        .distinct()
+        .toList();
+    return queryInChunks(studentIds, repository::findCoursesByStudentIds);
+  }
+
+  /**
+   * 受講生コース情報のリストに紐づく申込状況を取得します。コースIDが多い場合は分割してクエリを発行し、 コース情報が空の場合はクエリを発行しません。
+   *
+   * @param studentCourseList 受講生コース情報のリスト
+   * @return コースに紐づく申込状況のリスト
+   */
+  private List<StudentApplicationStatus> findStatusesByCourses(
+      List<StudentCourse> studentCourseList) {
+    List<Integer> courseIds = studentCourseList.stream()
+        .map(StudentCourse::getId)
+        .distinct()
+        .toList();
+    return queryInChunks(courseIds, repository::findStatusesByCourseIds);
+  }
+
+  /**
+   * 登録・更新対象のリストを{@link #BULK_INSERT_CHUNK_SIZE}件ずつに分割して一括登録・一括更新を行います。リストが空の場合は何もしません。
+   *
+   * @param items   登録・更新対象のリスト
+   * @param command 一括登録・一括更新を行うリポジトリのメソッド
+   */
+  private <T> void executeInChunks(List<T> items, Consumer<List<T>> command) {
+    for (int from = 0; from < items.size(); from += BULK_INSERT_CHUNK_SIZE) {
+      int to = Math.min(from + BULK_INSERT_CHUNK_SIZE, items.size());
+      command.accept(items.subList(from, to));
+    }
+  }
+
+  /**
+   * IDのリストを{@link #IN_CLAUSE_CHUNK_SIZE}件ずつに分割してIN句のクエリを発行し、結果を１つのリストにまとめます。
+   *
+   * @param ids   検索条件のIDのリスト
+   * @param query IN句で検索を行うリポジトリのメソッド
+   * @return 検索結果をまとめたリスト（IDが空の場合は空のリスト）
+   */
+  private <T, R> List<R> queryInChunks(List<T> ids, Function<List<T>, List<R>> query) {
+    List<R> result = new ArrayList<>();
+    for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+      int to = Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size());
+      result.addAll(query.apply(ids.subList(from, to)));
+    }
+    return result;
+  }
+
   /**
    * 受講生詳細の登録を行います。受講生と受講生コース情報およびコースの申込状況を個別に登録し、 受講生コース情報には受講生情報を紐づける値とコース開始日、コース終了日を設定します。
    * コースの申込状況については、初期段階では「仮申込」として登録を行います。
+   * 登録したIDのキャッシュはコミット後に削除します。
    *
    * @param studentDetail 受講生詳細
    * @return 登録情報を付与した受講生詳細
    */
+  @CacheEvict(cacheNames = CacheConfig.STUDENT_DETAIL_CACHE,
+      key = "T(raisetech.StudentManagement.config.CacheConfig)"
+          + ".studentDetailKey(#studentDetail.student.id)")
   @Transactional
   public StudentDetail registerStudent(StudentDetail studentDetail) {
     Student student = studentDetail.getStudent();
@@ -99,9 +262,57 @@ public class StudentService {
     // ← 最後にセットする
     studentDetail.setStudentApplicationStatus(statusList);
 
+    eventPublisher.publishEvent(new StudentChangedEvent(List.of(student.getId()), List.of(),
+        List.of(studentDetail)));
     return studentDetail;
   }
 
+  /**
+   * 複数の受講生詳細の一括登録を行います。登録内容は{@link #registerStudent(StudentDetail)}と同じですが、
+   * 受講生・受講生コース情報・申込状況をそれぞれ複数行のINSERTでまとめて登録するので、１件ずつ登録するよりも通信回数が大幅に少なくなります。
+   * 登録件数が多くなるため、キャッシュはコミット後にすべて削除します。
+   *
+   * @param studentDetails 受講生詳細のリスト
+   * @return 登録情報を付与した受講生詳細のリスト
+   */
+  @CacheEvict(cacheNames = CacheConfig.STUDENT_DETAIL_CACHE, allEntries = true)
+  @Transactional
+  public List<StudentDetail> registerStudents(List<StudentDetail> studentDetails) {
+    List<Student> students = studentDetails.stream()
+        .map(StudentDetail::getStudent)
+        .toList();
+    executeInChunks(students, repository::registerStudents);
+
+    // 採番された受講生IDをコース情報に設定してから登録
+    List<StudentCourse> studentCourses = new ArrayList<>();
+    studentDetails.forEach(studentDetail -> studentDetail.getStudentCourseList()
+        .forEach(studentCourse -> {
+          initStudentsCourse(studentCourse, studentDetail.getStudent().getId());
+          studentCourses.add(studentCourse);
+        }));
+    executeInChunks(studentCourses, repository::registerStudentCourses);
+
+    // 採番されたコースIDで「仮申込」の申込状況を作成して登録
+    List<StudentApplicationStatus> statuses = new ArrayList<>();
+    studentDetails.forEach(studentDetail -> {
+      List<StudentApplicationStatus> statusList = new ArrayList<>();
+      studentDetail.getStudentCourseList().forEach(studentCourse -> {
+        StudentApplicationStatus status = new StudentApplicationStatus();
+        status.setStudentCourseId(studentCourse.getId());
+        status.setStatus("仮申込");
+        statusList.add(status);
+      });
+      studentDetail.setStudentApplicationStatus(statusList);
+      statuses.addAll(statusList);
+    });
+    executeInChunks(statuses, repository::registerApplicationStatuses);
+
+    eventPublisher.publishEvent(new StudentChangedEvent(students.stream()
+        .map(Student::getId)
+        .toList(), List.of(), List.copyOf(studentDetails)));
+    return studentDetails;
+  }
+
   /**
    * 受講生コース情報を登録する際の初期情報を設定する。
    *
@@ -118,40 +329,150 @@ public class StudentService {
 
   /**
    * 受講生詳細の更新を行います。　受講生と受講生コース情報およびコースの申し込み状況の３点のそれぞれを更新します。
+   * 登録済みの受講生詳細と比較し、内容が変わった行だけを更新します。コース情報と申込状況は変更分をそれぞれ１回のUPDATEでまとめて更新します。
+   * 登録済みの受講生詳細は行ロックを取って取得するので、同じ受講生の更新は順に行われます。 発行するイベントには更新前と更新後の受講生詳細を含めます。
+   * 更新した受講生IDのキャッシュはコミット後に削除します。
    *
    * @param studentDetail 受講生詳細
    */
+  @CacheEvict(cacheNames = CacheConfig.STUDENT_DETAIL_CACHE,
+      key = "T(raisetech.StudentManagement.config.CacheConfig)"
+          + ".studentDetailKey(#studentDetail.student.id)")
   @Transactional
   public void updateStudent(StudentDetail studentDetail) {
-    // TODO 受講生情報を更新
-    repository.updateStudent(studentDetail.getStudent());
+    StudentDetail stored = repository.findStudentDetailForUpdate(
+        studentDetail.getStudent().getId());
 
-    // TODO コース情報を更新
-    studentDetail.getStudentCourseList()
-        .forEach(studentCourse -> repository.updateStudentCourse(studentCourse));
+    // 受講生情報は変更があった場合のみ更新（登録済みの受講生詳細が取得できない場合は従来どおりすべて更新）
+    if (stored == null || !stored.getStudent().equals(studentDetail.getStudent())) {
+      repository.updateStudent(studentDetail.getStudent());
+    }
 
-    // TODO 申込ステータス情報を更新
-    if (studentDetail.getStudentApplicationStatus() != null) {
-      studentDetail.getStudentApplicationStatus()
-          .forEach(status -> repository.updateApplicationStatus(status));
+    // コース名が変わったコース情報のみ更新
+    Map<Integer, StudentCourse> storedCourses = stored == null ? Map.of()
+        : stored.getStudentCourseList().stream()
+            .collect(Collectors.toMap(StudentCourse::getId, Function.identity()));
+    List<StudentCourse> changedCourses = studentDetail.getStudentCourseList().stream()
+        .filter(studentCourse -> {
+          StudentCourse storedCourse = storedCourses.get(studentCourse.getId());
+          return storedCourse == null
+              || !Objects.equals(storedCourse.getCourseName(), studentCourse.getCourseName());
+        })
+        .toList();
+    executeInChunks(changedCourses, repository::updateStudentCourses);
+
+    // 申込状況が変わったもののみ更新
+    Map<Integer, StudentApplicationStatus> storedStatuses = stored == null ? Map.of()
+        : stored.getStudentApplicationStatus().stream()
+            .collect(Collectors.toMap(StudentApplicationStatus::getId, Function.identity()));
+    List<StudentApplicationStatus> changedStatuses = studentDetail.getStudentApplicationStatus()
+        == null ? List.of() : studentDetail.getStudentApplicationStatus().stream()
+        .filter(status -> {
+          StudentApplicationStatus storedStatus = storedStatuses.get(status.getId());
+          return storedStatus == null
+              || !Objects.equals(storedStatus.getStatus(), status.getStatus());
+        })
+        .toList();
+    executeInChunks(changedStatuses, repository::updateApplicationStatuses);
+
+    // 登録済みの受講生詳細にないコース・申込状況を更新した場合は、更新後の状態が分からないのでnullを渡す
+    boolean known = stored != null
+        && changedCourses.stream().allMatch(course -> storedCourses.containsKey(course.getId()))
+        && changedStatuses.stream().allMatch(status -> storedStatuses.containsKey(status.getId()));
+    eventPublisher.publishEvent(new StudentChangedEvent(
+        List.of(studentDetail.getStudent().getId()),
+        stored == null ? List.of() : List.of(stored),
+        known ? List.of(applyChanges(stored, studentDetail.getStudent(), changedCourses,
+            changedStatuses)) : null));
+  }
+
+  /**
+   * 登録済みの受講生詳細に更新内容を反映した、更新後の受講生詳細を作成します。 登録済みの受講生詳細自体は変更しません。
+   *
+   * @param stored          登録済みの受講生詳細
+   * @param student         更新後の受講生情報
+   * @param changedCourses  コース名を更新したコース情報
+   * @param changedStatuses 申込状況を更新した申込状況
+   * @return 更新後の受講生詳細
+   */
+  private static StudentDetail applyChanges(StudentDetail stored, Student student,
+      List<StudentCourse> changedCourses, List<StudentApplicationStatus> changedStatuses) {
+    Map<Integer, String> courseNames = changedCourses.stream()
+        .collect(Collectors.toMap(StudentCourse::getId, StudentCourse::getCourseName,
+            (first, second) -> second));
+    Map<Integer, String> statuses = changedStatuses.stream()
+        .collect(Collectors.toMap(StudentApplicationStatus::getId,
+            StudentApplicationStatus::getStatus, (first, second) -> second));
+    List<StudentCourse> courses = stored.getStudentCourseList().stream()
+        .map(course -> new StudentCourse(course.getId(), course.getStudentId(),
+            courseNames.getOrDefault(course.getId(), course.getCourseName()),
+            course.getCourseStartAt(), course.getCourseEndAt()))
+        .collect(Collectors.toCollection(ArrayList::new));
+    List<StudentApplicationStatus> applicationStatuses = stored.getStudentApplicationStatus()
+        .stream()
+        .map(status -> new StudentApplicationStatus(status.getId(), status.getStudentCourseId(),
+            statuses.getOrDefault(status.getId(), status.getStatus())))
+        .collect(Collectors.toCollection(ArrayList::new));
+    return new StudentDetail(student, courses, applicationStatuses);
+  }
+
+  /**
+   * 対象のコースのうち申込状況が変更前の申込状況であるものを、変更後の申込状況にまとめて変更します。 変更は１回のUPDATEで行います。
+   * 申込状況は仮申込、本申込、受講中、受講終了の順に１段階ずつしか進められません（仮申込から受講終了のように段階を飛ばす変更はできません）。
+   * 変更の件数が多くなるため、キャッシュはコミット後にすべて削除します。 変更した受講生はUPDATEの前後に検索せず、イベントには変更の内容のみを含めます。
+   * スナップショットはコミット後に変更の内容から対象の受講生を求めて読み直し、受講生の集計は次の参照時に集計し直されます。
+   *
+   * @param request 申込状況の一括変更の内容
+   * @return 変更した申込状況の件数
+   */
+  @CacheEvict(cacheNames = CacheConfig.STUDENT_DETAIL_CACHE, allEntries = true)
+  @Transactional
+  public int transitionStatuses(StatusTransitionRequest request) {
+    if (!STATUS_ORDER.contains(request.getFromStatus())
+        || !STATUS_ORDER.contains(request.getToStatus())) {
+      throw new IllegalArgumentException("申込状況は仮申込・本申込・受講中・受講終了のいずれかを指定してください。");
+    }
+    if (STATUS_ORDER.indexOf(request.getToStatus())
+        != STATUS_ORDER.indexOf(request.getFromStatus()) + 1) {
+      throw new IllegalArgumentException(
+          "申込状況を「" + request.getFromStatus() + "」から「" + request.getToStatus()
+              + "」に変更することはできません。申込状況は１段階ずつ進めてください。");
+    }
+    if (!request.hasCourseTarget()) {
+      throw new IllegalArgumentException("対象のコース名またはコースIDを指定してください。");
     }
+    if (request.getCourseName() != null) {
+      validateCourseName(request.getCourseName());
+    }
+
+    int updated = repository.transitionApplicationStatuses(request);
+    if (updated > 0) {
+      eventPublisher.publishEvent(new StudentChangedEvent(request));
+    }
+    return updated;
   }
 
   /**
    * カナ名が引数の全角カタカナから始まる受講生を検索します。そして該当する受講生を集めたリストを返します。 該当する受講生が見つからなかった場合はその旨を伝えるメッセージを表示させます。
+   * 先頭の文字列は複数文字でも指定できます。スナップショットが有効な場合はフリガナの索引から検索します。
    *
-   * @param prefix 受講生の名前の１文字目（この１文字は全角カタカナとします）
+   * @param prefix 受講生の名前の先頭の文字列（全角カタカナとします）
    * @return 該当する受講生詳細のリスト
    */
   public List<StudentDetail> findStudentsByNamePrefix(String prefix) {
+    if (snapshot.isEnabled()) {
+      return requireFound(snapshot.current().findByKanaPrefix(prefix),
+          "該当する受講生が見つかりませんでした。");
+    }
     List<Student> studentsByNamePrefix = repository.findStudentsByNamePrefix(prefix);
 
     if (studentsByNamePrefix == null || studentsByNamePrefix.isEmpty()) {
       throw new StudentNotFoundException("該当する受講生が見つかりませんでした。");
     }
 
-    List<StudentCourse> studentCourseList = repository.searchStudentCourseList();
-    List<StudentApplicationStatus> studentApplicationStatusList = repository.searchStudentApplicationStatus();
+    List<StudentCourse> studentCourseList = findCoursesByStudents(studentsByNamePrefix);
+    List<StudentApplicationStatus> studentApplicationStatusList = findStatusesByCourses(
+        studentCourseList);
 
     return converter.convertStudentDetails(
         studentsByNamePrefix,
@@ -168,6 +489,10 @@ public class StudentService {
    * @return minAge以上 maxAge以下の年齢の受講生のリスト
    */
   public List<StudentDetail> findStudentsByAgeRange(int minAge, int maxAge) {
+    if (snapshot.isEnabled()) {
+      return requireFound(snapshot.current().findByAgeRange(minAge, maxAge),
+          "指定された年齢範囲に該当する受講生が見つかりませんでした。");
+    }
     List<Student> students = repository.findStudentsByAgeRange(minAge, maxAge);
 
     if (students == null || students.isEmpty()) {
@@ -175,8 +500,8 @@ public class StudentService {
           "指定された年齢範囲に該当する受講生が見つかりませんでした。");
     }
 
-    List<StudentCourse> courses = repository.searchStudentCourseList();
-    List<StudentApplicationStatus> statuses = repository.searchStudentApplicationStatus();
+    List<StudentCourse> courses = findCoursesByStudents(students);
+    List<StudentApplicationStatus> statuses = findStatusesByCourses(courses);
 
     return converter.convertStudentDetails(students, courses, statuses);
   }
@@ -188,8 +513,10 @@ public class StudentService {
    * @return 該当する性別の受講生のリスト
    */
   public List<StudentDetail> findStudentsByGender(String sex) {
-    if (!Objects.equals(sex, "男性") && !Objects.equals(sex, "女性")) {
-      throw new StudentNotFoundException("「男性」または「女性」と入力して検索をしてください。");
+    validateSex(sex);
+    if (snapshot.isEnabled()) {
+      return requireFound(snapshot.current().findBySex(sex),
+          "指定された性別に該当する受講生が見つかりませんでした。");
     }
     List<Student> students = repository.findStudentsByGender(sex);
 
@@ -197,41 +524,32 @@ public class StudentService {
       throw new StudentNotFoundException("指定された性別に該当する受講生が見つかりませんでした。");
     }
 
-    List<StudentCourse> courses = repository.searchStudentCourseList();
-    List<StudentApplicationStatus> statuses = repository.searchStudentApplicationStatus();
+    List<StudentCourse> courses = findCoursesByStudents(students);
+    List<StudentApplicationStatus> statuses = findStatusesByCourses(courses);
 
     return converter.convertStudentDetails(students, courses, statuses);
   }
 
   /**
    * コース名を指定し、そのコースに所属している受講生一覧を返すメソッドです。
+   * 受講生コース情報と受講生を結合するクエリ１回で、指定したコースの受講生を重複なく受講生ID順に取得します。
+   * 各受講生詳細には指定したコースのコース情報とその申込状況のみを設定します。
    *
    * @param courseName 受講コース名
    * @return 指定したコースに所属している受講生一覧
    */
   public List<StudentDetail> findStudentsByCourse(String courseName) {
-    if (!Objects.equals(courseName, "Javaコース") && !Objects.equals(courseName, "AWSコース")
-        && !Objects.equals(courseName, "Pythonコース")
-        && !Objects.equals(courseName, "英会話コース")) {
-      throw new StudentNotFoundException("適切なコース名を入力してください。");
+    validateCourseName(courseName);
+    if (snapshot.isEnabled()) {
+      return requireFound(snapshot.current().findByCourseName(courseName),
+          "指定されたコースに所属する受講生が見つかりません。");
     }
 
-    List<Student> studentList = repository.search();
-    List<Student> students = new ArrayList<>();
-
-    List<StudentCourse> courses = repository.findStudentsByCourse(courseName);
-    if (courses == null || courses.isEmpty()) {
+    List<StudentDetail> studentDetails = repository.findStudentDetailsByCourseName(courseName);
+    if (studentDetails == null || studentDetails.isEmpty()) {
       throw new StudentNotFoundException("指定されたコースに所属する受講生が見つかりません。");
     }
-
-    courses.forEach(studentCourse -> {
-      studentList.stream().filter(student -> studentCourse.getStudentId().equals(student.getId()))
-          .forEach(students::add);
-    });
-
-    List<StudentApplicationStatus> statuses = repository.searchStudentApplicationStatus();
-
-    return converter.convertStudentDetails(students, courses, statuses);
+    return studentDetails;
   }
 
   /**
@@ -243,6 +561,10 @@ public class StudentService {
    */
   public List<StudentDetail> findStudentsByCourseStartDateRange(LocalDateTime from,
       LocalDateTime to) {
+    if (snapshot.isEnabled()) {
+      return requireFound(snapshot.current().findByCourseStartRange(from, to),
+          "指定された受講開始日範囲に該当する受講生は見つかりませんでした。");
+    }
     List<StudentCourse> filteredCourses = repository.findCoursesByStartDateRange(from, to);
 
     if (filteredCourses == null || filteredCourses.isEmpty()) {
@@ -256,53 +578,177 @@ public class StudentService {
         .distinct()//同じstudentIdが２回以上登場する可能性があり、その重複を防ぐため(同じものを２回以上リスト化する必要はないから)
         .toList();
 
-    List<Student> students = repository.findStudentsByIds(studentIds);
-    List<StudentApplicationStatus> statuses = repository.searchStudentApplicationStatus();
+    // 受講生と申込状況は互いに依存しないので同時に取得する
+    CompletableFuture<List<Student>> students = supplyAsync(
+        () -> queryInChunks(studentIds, repository::findStudentsByIds));
+    CompletableFuture<List<StudentApplicationStatus>> statuses = supplyAsync(
+        () -> findStatusesByCourses(filteredCourses));
 
-    return converter.convertStudentDetails(students, filteredCourses, statuses);
+    return converter.convertStudentDetails(join(students), filteredCourses, join(statuses));
+  }
+
+  /**
+   * 受講期間で受講生検索を行うメソッドです。 受講期間（受講開始日～受講終了日）が引数に指定する期間と重なるコースを持つ受講生詳細のリストを返します。
+   * 各受講生詳細には該当するコースのコース情報とその申込状況のみを設定します。
+   * スナップショットが有効な場合は受講期間の区間索引から検索します。
+   *
+   * @param from 検索区間の始まりの日時
+   * @param to   検索区間の終わりの日時
+   * @return 該当区間に受講期間が重なるコースを持つ受講生詳細のリスト
+   */
+  public List<StudentDetail> findStudentsByCourseActiveRange(LocalDateTime from,
+      LocalDateTime to) {
+    String message = "指定された期間に受講中のコースを持つ受講生は見つかりませんでした。";
+    if (snapshot.isEnabled()) {
+      return requireFound(snapshot.current().findByCourseActiveRange(from, to), message);
+    }
+    return requireFound(repository.findStudentDetailsByCourseActiveRange(from, to), message);
+  }
+
+  /**
+   * 受講終了日で受講生検索を行うメソッドです。 受講終了日が引数に指定する日時より前のコースを持つ受講生詳細のリストを返します。
+   * 各受講生詳細には該当するコースのコース情報とその申込状況のみを設定します。
+   * スナップショットが有効な場合は受講期間の区間索引から検索します。
+   *
+   * @param before この日時より前に受講が終了するコースを対象とする
+   * @return 該当するコースを持つ受講生詳細のリスト
+   */
+  public List<StudentDetail> findStudentsByCourseEndBefore(LocalDateTime before) {
+    String message = "指定された日より前に受講が終了する受講生は見つかりませんでした。";
+    if (snapshot.isEnabled()) {
+      return requireFound(snapshot.current().findByCourseEndBefore(before), message);
+    }
+    return requireFound(repository.findStudentDetailsByCourseEndBefore(before), message);
   }
 
   /**
    * 申込状況から受講生を検索するメソッドです。
+   * 申込状況・受講生コース情報・受講生を結合するクエリ１回で、該当する行だけを受講生ID順に取得します。
+   * 各受講生詳細には指定した申込状況のコース情報とその申込状況のみを設定します。
    *
    * @param status 仮申込、本申込、受講中、受講終了のいずれか
    * @return 該当する受講生詳細のリスト
    */
   public List<StudentDetail> findStudentsByStatus(String status) {
     // ステータスチェック
-    List<String> validStatuses = List.of("仮申込", "本申込", "受講中", "受講終了");
-    if (!validStatuses.contains(status)) {
-      throw new StudentNotFoundException("適切な申し込み状況を入力してください。");
+    validateStatus(status);
+
+    if (snapshot.isEnabled()) {
+      return snapshot.current().findByStatus(status);
     }
+    return repository.findStudentDetailsByStatus(status);
+  }
 
-    // データ取得
-    List<Student> allStudents = repository.search();
-    Map<String, Student> studentMap = allStudents.stream()
-        .collect(Collectors.toMap(Student::getId, Function.identity()));
+  /**
+   * 条件に該当する受講生の人数を数えます。 同じ項目に複数の値を指定した場合はいずれかに該当する受講生、異なる項目はすべてに該当する受講生を数えます。
+   * スナップショットが有効な場合はデータベースに問い合わせず、属性ごとのビットマップの索引から数えます。
+   *
+   * @param condition 条件（空のリストの項目は条件に含めない）
+   * @return 受講生の人数
+   */
+  public long countStudents(StudentCountCondition condition) {
+    condition.getSexes().forEach(this::validateSex);
+    condition.getCourseNames().forEach(this::validateCourseName);
+    condition.getStatuses().forEach(this::validateStatus);
 
-    List<StudentCourse> allCourses = repository.searchStudentCourseList();
-    List<StudentApplicationStatus> statusList = repository.findStudentsByStatus(status);
+    if (snapshot.isEnabled()) {
+      return snapshot.current().count(condition);
+    }
+    return repository.countStudents(condition);
+  }
 
-    // 関連コースと受講生の抽出
-    Set<Integer> targetCourseIds = statusList.stream()
-        .map(StudentApplicationStatus::getStudentCourseId)
-        .collect(Collectors.toSet());
+  /**
+   * 検索結果が空の場合は、受講生が見つからない旨の例外を送出します。
+   *
+   * @param studentDetails 検索結果
+   * @param message        該当する受講生がいない場合のメッセージ
+   * @return 検索結果の受講生詳細のリスト
+   */
+  private List<StudentDetail> requireFound(List<StudentDetail> studentDetails, String message) {
+    if (studentDetails == null || studentDetails.isEmpty()) {
+      throw new StudentNotFoundException(message);
+    }
+    return studentDetails;
+  }
 
-    List<StudentCourse> matchedCourses = allCourses.stream()
-        .filter(course -> targetCourseIds.contains(course.getId()))
-        .collect(Collectors.toList());
+  /**
+   * 条件に該当する受講生詳細を受講生ID順に１ページ分検索します。 直前のページの最後の受講生IDを起点にするキーセット方式なので、後ろのページでも検索コストは変わりません。
+   * 条件はすべて任意で、指定した条件をすべて満たす受講生を対象とします。 受講生の絞り込みとコース情報・申込状況の取得は結合クエリ１回で行います。
+   * コース単位の条件（コース名・申込状況・受講開始日）を指定した場合は、条件を満たすコースとその申込状況のみを設定します。
+   * スナップショットが有効でフリガナの条件のみを指定した場合は、フリガナの索引から検索します。
+   *
+   * @param condition 検索条件（nullの項目は条件に含めない）
+   * @param after     直前のページの最後の受講生ID（最初のページは0）
+   * @param limit     １ページの最大件数
+   * @return 受講生詳細のページ（該当する受講生がいない場合は空のページ）
+   */
+  public StudentDetailPage searchStudentPage(StudentSearchCondition condition, int after,
+      int limit) {
+    validateCondition(condition);
+    if (snapshot.isEnabled() && condition.hasOnlyKanaPrefix()) {
+      return snapshot.current().findPageByKanaPrefix(condition.getKanaPrefix(), after, limit);
+    }
 
-    Set<String> targetStudentIds = matchedCourses.stream()
-        .map(StudentCourse::getStudentId)
-        .collect(Collectors.toSet());
+    // 次のページの有無を判定するため１件多く取得する
+    List<StudentDetail> studentDetails = repository.findStudentDetailPage(condition, after,
+        limit + 1);
+    boolean hasNext = studentDetails.size() > limit;
+    List<StudentDetail> content = hasNext ? studentDetails.subList(0, limit) : studentDetails;
+
+    Integer nextCursor = hasNext ? Integer.valueOf(content.getLast().getStudent().getId()) : null;
+    return new StudentDetailPage(content, nextCursor);
+  }
+
+  /**
+   * 検索条件のうち、性別・コース名・申込状況が指定されている場合はその値が適切かを確認します。
+   *
+   * @param condition 検索条件
+   */
+  private void validateCondition(StudentSearchCondition condition) {
+    if (condition.getSex() != null) {
+      validateSex(condition.getSex());
+    }
+    if (condition.getCourseName() != null) {
+      validateCourseName(condition.getCourseName());
+    }
+    if (condition.getStatus() != null) {
+      validateStatus(condition.getStatus());
+    }
+  }
+
+  /**
+   * 性別が「男性」または「女性」であるかを確認します。
+   *
+   * @param sex 受講生の性別
+   */
+  private void validateSex(String sex) {
+    if (!Objects.equals(sex, "男性") && !Objects.equals(sex, "女性")) {
+      throw new StudentNotFoundException("「男性」または「女性」と入力して検索をしてください。");
+    }
+  }
 
-    List<Student> matchedStudents = targetStudentIds.stream()
-        .map(studentMap::get)
-        .filter(Objects::nonNull)
-        .sorted(Comparator.comparing(Student::getId)) // ← ここで受講生ID順にソート（並べ替え）
-        .collect(Collectors.toList());
+  /**
+   * コース名が検索可能なコース名であるかを確認します。
+   *
+   * @param courseName 受講コース名
+   */
+  private void validateCourseName(String courseName) {
+    if (!Objects.equals(courseName, "Javaコース") && !Objects.equals(courseName, "AWSコース")
+        && !Objects.equals(courseName, "Pythonコース")
+        && !Objects.equals(courseName, "英会話コース")) {
+      throw new StudentNotFoundException("適切なコース名を入力してください。");
+    }
+  }
 
-    return converter.convertStudentDetails(matchedStudents, matchedCourses, statusList);
+  /**
+   * 申込状況が仮申込、本申込、受講中、受講終了のいずれかであるかを確認します。
+   *
+   * @param status 申込状況
+   */
+  private void validateStatus(String status) {
+    if (!STATUS_ORDER.contains(status)) {
+      throw new StudentNotFoundException("適切な申し込み状況を入力してください。");
+    }
   }
 
 }
@@ -0,0 +1,117 @@
+package raisetech.StudentManagement.snapshot;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * IDをキーとする読み取り専用のマップです。 連続する{@value #CHUNK_SIZE}件のIDごとにチャンクに分けて持ち、
+ * {@link #with(Collection, Map)}では変更されたIDを含むチャンクだけをコピーした新しいマップを作ります。
+ * 変更されていないチャンクは元のマップと共有するので、全件をコピーせずに変更を反映できます。 生成後は変更しません。
+ *
+ * @param <V> 値の型
+ */
+final class ChunkedIdMap<V> {
+
+  private static final int CHUNK_BITS = 10;
+
+  /**
+   * １つのチャンクに含めるIDの件数です。
+   */
+  static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+  private static final ChunkedIdMap<?> EMPTY = new ChunkedIdMap<>(new TreeMap<>(), 0);
+
+  private final NavigableMap<Integer, NavigableMap<Integer, V>> chunks;
+  private final int size;
+
+  private ChunkedIdMap(NavigableMap<Integer, NavigableMap<Integer, V>> chunks, int size) {
+    this.chunks = chunks;
+    this.size = size;
+  }
+
+  /**
+   * 空のマップを返します。
+   *
+   * @return 空のマップ
+   */
+  @SuppressWarnings("unchecked")
+  static <V> ChunkedIdMap<V> empty() {
+    return (ChunkedIdMap<V>) EMPTY;
+  }
+
+  /**
+   * IDに該当する値を返します。
+   *
+   * @param id ID
+   * @return 値（該当するIDがない場合はnull）
+   */
+  V get(int id) {
+    NavigableMap<Integer, V> chunk = chunks.get(id >> CHUNK_BITS);
+    return chunk == null ? null : chunk.get(id);
+  }
+
+  /**
+   * 保持している件数を返します。
+   *
+   * @return 件数
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * すべての値をID順に返します。
+   *
+   * @return 値のストリーム
+   */
+  Stream<V> values() {
+    return chunks.values().stream().flatMap(chunk -> chunk.values().stream());
+  }
+
+  /**
+   * 指定したIDを取り除き、指定したIDと値を追加・置き換えた新しいマップを作成します。 このマップ自体は変更しません。
+   *
+   * @param removed 取り除くID（removedとaddedの両方にあるIDは置き換えになる）
+   * @param added   追加・置き換えるIDと値
+   * @return 新しいマップ
+   */
+  ChunkedIdMap<V> with(Collection<Integer> removed, Map<Integer, V> added) {
+    NavigableMap<Integer, NavigableMap<Integer, V>> updated = new TreeMap<>(chunks);
+    Set<Integer> copied = new HashSet<>();
+    int updatedSize = size;
+    for (Integer id : removed) {
+      NavigableMap<Integer, V> chunk = writableChunk(updated, copied, id);
+      if (chunk.remove(id) != null) {
+        updatedSize--;
+      }
+    }
+    for (Map.Entry<Integer, V> entry : added.entrySet()) {
+      NavigableMap<Integer, V> chunk = writableChunk(updated, copied, entry.getKey());
+      if (chunk.put(entry.getKey(), entry.getValue()) == null) {
+        updatedSize++;
+      }
+    }
+    copied.stream()
+        .filter(chunkKey -> updated.get(chunkKey).isEmpty())
+        .forEach(updated::remove);
+    return new ChunkedIdMap<>(updated, updatedSize);
+  }
+
+  /**
+   * IDを含むチャンクを、元のマップと共有していないコピーにして返します。
+   */
+  private NavigableMap<Integer, V> writableChunk(
+      NavigableMap<Integer, NavigableMap<Integer, V>> updated, Set<Integer> copied, int id) {
+    int chunkKey = id >> CHUNK_BITS;
+    if (copied.add(chunkKey)) {
+      NavigableMap<Integer, V> chunk = chunks.get(chunkKey);
+      updated.put(chunkKey, chunk == null ? new TreeMap<>() : new TreeMap<>(chunk));
+    }
+    return updated.get(chunkKey);
+  }
+}
@@ -0,0 +1,305 @@
+package raisetech.StudentManagement.snapshot;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+import raisetech.StudentManagement.data.StudentCourse;
+
+/**
+ * 受講生コース情報の受講開始日・受講期間（受講開始日～受講終了日）の索引です。 生成後は変更しません。
+ * <p>
+ * すべてのコースを受講開始日順の平衡二分木（コースIDから決めた優先度によるtreap）１本で持ち、各部分木の受講終了日の最大値を持たせた区間木として
+ * 受講期間が指定した期間と重なるコースを検索します（O(log n + k)。該当するコースが受講開始日順に連続しない場合は最悪 O(k log n)）。
+ * 受講開始日の期間の検索も同じ木をたどり（O(log n + k)）、受講終了日が指定した日時より前のコースは受講終了日順の木で検索します（O(log n + k)）。
+ * 受講開始日がnullのコースは索引に含めず、受講終了日がnullのコースは受講開始日の検索にのみ含めます。
+ * <p>
+ * コースの追加・変更は{@link #with(Collection, Collection)}で、根から変更したコースまでの経路のノードだけを作り直した新しい索引として反映します
+ * （コース１件あたり O(log n)）。 それ以外のノードはこの索引と共有します。
+ */
+final class CourseIntervalIndex {
+
+  /**
+   * コースが１つもない索引です。
+   */
+  static final CourseIntervalIndex EMPTY = new CourseIntervalIndex(null, null);
+
+  private static final Comparator<StudentCourse> START_ORDER = Comparator
+      .comparing(StudentCourse::getCourseStartAt)
+      .thenComparing(StudentCourse::getId);
+  private static final Comparator<StudentCourse> END_ORDER = Comparator
+      .comparing(StudentCourse::getCourseEndAt)
+      .thenComparing(StudentCourse::getId);
+
+  private final Node byStart;
+  private final Node byEnd;
+
+  private CourseIntervalIndex(Node byStart, Node byEnd) {
+    this.byStart = byStart;
+    this.byEnd = byEnd;
+  }
+
+  /**
+   * 指定したコースを取り除き、指定したコースを加えた新しい索引を作成します。 この索引自体は変更しません。
+   *
+   * @param removed 取り除くコース（変更前の受講生コース情報）
+   * @param added   加えるコース（変更後の受講生コース情報）
+   * @return 新しい索引
+   */
+  CourseIntervalIndex with(Collection<StudentCourse> removed, Collection<StudentCourse> added) {
+    if (byStart == null) {
+      // 全件の読み込み時は、並べ替えた配列から木をまとめて作る
+      return new CourseIntervalIndex(
+          build(added.stream()
+              .filter(CourseIntervalIndex::isIndexed)
+              .sorted(START_ORDER)
+              .toArray(StudentCourse[]::new)),
+          build(added.stream()
+              .filter(course -> isIndexed(course) && course.getCourseEndAt() != null)
+              .sorted(END_ORDER)
+              .toArray(StudentCourse[]::new)));
+    }
+    Node start = byStart;
+    Node end = byEnd;
+    for (StudentCourse course : removed) {
+      if (isIndexed(course)) {
+        start = remove(start, course, START_ORDER);
+        if (course.getCourseEndAt() != null) {
+          end = remove(end, course, END_ORDER);
+        }
+      }
+    }
+    for (StudentCourse course : added) {
+      if (isIndexed(course)) {
+        start = insert(start, course, START_ORDER);
+        if (course.getCourseEndAt() != null) {
+          end = insert(end, course, END_ORDER);
+        }
+      }
+    }
+    return new CourseIntervalIndex(start, end);
+  }
+
+  /**
+   * 受講開始日が指定した期間（両端を含む）にあるコースのIDを返します。
+   *
+   * @param from 期間の始まり
+   * @param to   期間の終わり
+   * @return コースIDのストリーム（順不同）
+   */
+  IntStream findStartingBetween(LocalDateTime from, LocalDateTime to) {
+    IntStream.Builder result = IntStream.builder();
+    collectStartingBetween(byStart, from, to, result);
+    return result.build();
+  }
+
+  /**
+   * 受講期間が指定した期間（両端を含む）と重なるコース、つまり受講開始日がto以前かつ受講終了日がfrom以降のコースのIDを返します。
+   *
+   * @param from 期間の始まり
+   * @param to   期間の終わり
+   * @return コースIDのストリーム（順不同）
+   */
+  IntStream findOverlapping(LocalDateTime from, LocalDateTime to) {
+    IntStream.Builder result = IntStream.builder();
+    collectOverlapping(byStart, from, to, result);
+    return result.build();
+  }
+
+  /**
+   * 受講終了日が指定した日時より前のコースのIDを返します。
+   *
+   * @param before この日時より前に受講が終了するコースを対象とする
+   * @return コースIDのストリーム（順不同）
+   */
+  IntStream findEndingBefore(LocalDateTime before) {
+    IntStream.Builder result = IntStream.builder();
+    collectEndingBefore(byEnd, before, result);
+    return result.build();
+  }
+
+  private static boolean isIndexed(StudentCourse course) {
+    return course.getId() != null && course.getCourseStartAt() != null;
+  }
+
+  /**
+   * 並べ替え済みのコースから木を作ります。 優先度が親以下になるように、配列を先頭から順に右端の経路に積んでいきます（O(n)）。
+   */
+  private static Node build(StudentCourse[] sorted) {
+    int[] left = new int[sorted.length];
+    int[] right = new int[sorted.length];
+    int[] rightPath = new int[sorted.length];
+    int size = 0;
+    for (int i = 0; i < sorted.length; i++) {
+      int priority = Node.priority(sorted[i].getId());
+      int lastPopped = -1;
+      while (size > 0 && Node.priority(sorted[rightPath[size - 1]].getId()) < priority) {
+        lastPopped = rightPath[--size];
+      }
+      left[i] = lastPopped;
+      right[i] = -1;
+      if (size > 0) {
+        right[rightPath[size - 1]] = i;
+      }
+      rightPath[size++] = i;
+    }
+    return size == 0 ? null : toNode(sorted, left, right, rightPath[0]);
+  }
+
+  private static Node toNode(StudentCourse[] sorted, int[] left, int[] right, int index) {
+    if (index < 0) {
+      return null;
+    }
+    return new Node(sorted[index], toNode(sorted, left, right, left[index]),
+        toNode(sorted, left, right, right[index]));
+  }
+
+  /**
+   * コースを加えた部分木を返します。 経路上のノードは作り直し、優先度が親より高くなったノードは回転で持ち上げます。
+   */
+  private static Node insert(Node node, StudentCourse course, Comparator<StudentCourse> order) {
+    if (node == null) {
+      return new Node(course, null, null);
+    }
+    int compared = order.compare(course, node.course);
+    if (compared == 0) {
+      return new Node(course, node.left, node.right);
+    }
+    if (compared < 0) {
+      Node left = insert(node.left, course, order);
+      return left.priority > node.priority
+          ? new Node(left.course, left.left, new Node(node.course, left.right, node.right))
+          : new Node(node.course, left, node.right);
+    }
+    Node right = insert(node.right, course, order);
+    return right.priority > node.priority
+        ? new Node(right.course, new Node(node.course, node.left, right.left), right.right)
+        : new Node(node.course, node.left, right);
+  }
+
+  /**
+   * コースを取り除いた部分木を返します。 該当するコースがない場合は元の部分木をそのまま返します。
+   */
+  private static Node remove(Node node, StudentCourse course, Comparator<StudentCourse> order) {
+    if (node == null) {
+      return null;
+    }
+    int compared = order.compare(course, node.course);
+    if (compared < 0) {
+      Node left = remove(node.left, course, order);
+      return left == node.left ? node : new Node(node.course, left, node.right);
+    }
+    if (compared > 0) {
+      Node right = remove(node.right, course, order);
+      return right == node.right ? node : new Node(node.course, node.left, right);
+    }
+    return join(node.left, node.right);
+  }
+
+  /**
+   * leftのすべてのコースがrightのすべてのコースより前にある２つの部分木をつなげます。
+   */
+  private static Node join(Node left, Node right) {
+    if (left == null) {
+      return right;
+    }
+    if (right == null) {
+      return left;
+    }
+    return left.priority > right.priority
+        ? new Node(left.course, left.left, join(left.right, right))
+        : new Node(right.course, join(left, right.left), right.right);
+  }
+
+  private static void collectStartingBetween(Node node, LocalDateTime from, LocalDateTime to,
+      IntStream.Builder result) {
+    if (node == null) {
+      return;
+    }
+    LocalDateTime start = node.course.getCourseStartAt();
+    boolean notBeforeFrom = !start.isBefore(from);
+    boolean notAfterTo = !start.isAfter(to);
+    if (notBeforeFrom) {
+      collectStartingBetween(node.left, from, to, result);
+    }
+    if (notBeforeFrom && notAfterTo) {
+      result.add(node.course.getId());
+    }
+    if (notAfterTo) {
+      collectStartingBetween(node.right, from, to, result);
+    }
+  }
+
+  /**
+   * 部分木から期間と重なるコースを集めます。 受講終了日の最大値がfromより前の部分木と、受講開始日がtoより後のノードの右の部分木は探索しません。
+   */
+  private static void collectOverlapping(Node node, LocalDateTime from, LocalDateTime to,
+      IntStream.Builder result) {
+    if (node == null || node.maxEnd == null || node.maxEnd.isBefore(from)) {
+      return;
+    }
+    collectOverlapping(node.left, from, to, result);
+    if (node.course.getCourseStartAt().isAfter(to)) {
+      return;
+    }
+    LocalDateTime end = node.course.getCourseEndAt();
+    if (end != null && !end.isBefore(from)) {
+      result.add(node.course.getId());
+    }
+    collectOverlapping(node.right, from, to, result);
+  }
+
+  private static void collectEndingBefore(Node node, LocalDateTime before,
+      IntStream.Builder result) {
+    if (node == null) {
+      return;
+    }
+    collectEndingBefore(node.left, before, result);
+    if (node.course.getCourseEndAt().isBefore(before)) {
+      result.add(node.course.getId());
+      collectEndingBefore(node.right, before, result);
+    }
+  }
+
+  /**
+   * 木のノードです。 生成後は変更しないので、変更前後の索引で共有できます。
+   */
+  private static final class Node {
+
+    private final StudentCourse course;
+    private final int priority;
+    private final Node left;
+    private final Node right;
+
+    /**
+     * この部分木の受講終了日の最大値（受講終了日がnullのコースしかない場合はnull）
+     */
+    private final LocalDateTime maxEnd;
+
+    private Node(StudentCourse course, Node left, Node right) {
+      this.course = course;
+      this.priority = priority(course.getId());
+      this.left = left;
+      this.right = right;
+      LocalDateTime max = course.getCourseEndAt();
+      if (left != null && left.maxEnd != null && (max == null || left.maxEnd.isAfter(max))) {
+        max = left.maxEnd;
+      }
+      if (right != null && right.maxEnd != null && (max == null || right.maxEnd.isAfter(max))) {
+        max = right.maxEnd;
+      }
+      this.maxEnd = max;
+    }
+
+    /**
+     * コースIDをかき混ぜて優先度にします。 連番のIDでも優先度がばらつくので、木の高さは O(log n) になります。
+     */
+    private static int priority(int courseId) {
+      int hash = courseId * 0x9E3779B9;
+      hash ^= hash >>> 16;
+      hash *= 0x85EBCA6B;
+      hash ^= hash >>> 13;
+      return hash;
+    }
+  }
+}
@@ -0,0 +1,226 @@
+package raisetech.StudentManagement.snapshot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * フリガナの前方一致検索に使う索引です。 フリガナの先頭の文字ごとにバケットに分け、各バケットでは フリガナ順（同じフリガナは受講生ID順）の配列と
+ * 受講生ID順の配列の２つを持ちます。 前方一致の結果は受講生ID順で返すので、ページ単位の取得ではマッチした受講生全体を並べ替えずに、 受講生ID順の配列を
+ * 直前のページの最後のIDから読み進めます。 生成後は変更しません。
+ * <p>
+ * 受講生の追加・変更は{@link #with(Map, Map)}で、変更された受講生のフリガナの先頭の文字のバケットだけを作り直した新しい索引として反映します。
+ */
+final class KanaPrefixIndex {
+
+  /**
+   * 受講生が１人もいない索引です。
+   */
+  static final KanaPrefixIndex EMPTY = new KanaPrefixIndex(Map.of());
+
+  /**
+   * 前方一致の範囲の上限を求める際に、指定した文字列の後ろに付ける文字です。 フリガナにはこの文字は含まれないものとします。
+   */
+  private static final char MAX_CHAR = Character.MAX_VALUE;
+
+  /**
+   * ２文字以上の前方一致でページを取得する際に、マッチした範囲を受講生ID順に並べ替えて扱う件数の上限です。 これを超える場合はバケットの受講生ID順の配列を
+   * 先頭から読み進めて、前方一致するものだけを拾います。
+   */
+  static final int SORT_THRESHOLD = 1024;
+
+  private static final Comparator<Entry> KANA_ORDER = Comparator.comparing(Entry::kanaName)
+      .thenComparingInt(Entry::studentId);
+  private static final Comparator<Entry> ID_ORDER = Comparator.comparingInt(Entry::studentId);
+
+  private final Map<Character, Bucket> buckets;
+
+  private KanaPrefixIndex(Map<Character, Bucket> buckets) {
+    this.buckets = buckets;
+  }
+
+  /**
+   * 指定した受講生のフリガナを取り除き、指定した受講生のフリガナを加えた新しい索引を作成します。 作り直すのは取り除く・加えるフリガナの先頭の文字の
+   * バケットだけで、それ以外のバケットはこの索引と共有します。 この索引自体は変更しません。
+   *
+   * @param removed 取り除く受講生IDとフリガナ（変更前のフリガナ）
+   * @param added   加える受講生IDとフリガナ（変更後のフリガナ。nullの受講生は含めないこと）
+   * @return 新しい索引
+   */
+  KanaPrefixIndex with(Map<Integer, String> removed, Map<Integer, String> added) {
+    Map<Character, Set<Integer>> removedByFirstChar = new HashMap<>();
+    removed.forEach((studentId, kanaName) -> {
+      if (!kanaName.isEmpty()) {
+        removedByFirstChar.computeIfAbsent(kanaName.charAt(0), key -> new HashSet<>())
+            .add(studentId);
+      }
+    });
+    Map<Character, List<Entry>> addedByFirstChar = new HashMap<>();
+    added.forEach((studentId, kanaName) -> {
+      if (!kanaName.isEmpty()) {
+        addedByFirstChar.computeIfAbsent(kanaName.charAt(0), key -> new ArrayList<>())
+            .add(new Entry(studentId, kanaName));
+      }
+    });
+
+    Set<Character> firstChars = new HashSet<>(removedByFirstChar.keySet());
+    firstChars.addAll(addedByFirstChar.keySet());
+    Map<Character, Bucket> updated = new HashMap<>(buckets);
+    for (Character firstChar : firstChars) {
+      Bucket bucket = updated.getOrDefault(firstChar, Bucket.EMPTY).with(
+          removedByFirstChar.getOrDefault(firstChar, Set.of()),
+          addedByFirstChar.getOrDefault(firstChar, List.of()));
+      if (bucket.inIdOrder.length == 0) {
+        updated.remove(firstChar);
+      } else {
+        updated.put(firstChar, bucket);
+      }
+    }
+    return new KanaPrefixIndex(updated);
+  }
+
+  /**
+   * フリガナが指定した文字列から始まる受講生のIDを昇順で返します。
+   *
+   * @param prefix フリガナの先頭の文字列（１文字以上）
+   * @return 受講生IDの配列（昇順）
+   */
+  int[] find(String prefix) {
+    Bucket bucket = buckets.get(prefix.charAt(0));
+    if (bucket == null) {
+      return new int[0];
+    }
+    if (prefix.length() == 1) {
+      return studentIds(bucket.inIdOrder, 0, bucket.inIdOrder.length);
+    }
+    int[] result = bucket.idsInKanaRange(prefix);
+    Arrays.sort(result);
+    return result;
+  }
+
+  /**
+   * フリガナが指定した文字列から始まり、受講生IDが指定したIDより大きい受講生のIDを、昇順で指定した件数まで返します。
+   *
+   * @param prefix フリガナの先頭の文字列（１文字以上）
+   * @param after  このIDより大きい受講生IDのみを対象とする
+   * @param limit  返す最大件数
+   * @return 受講生IDの配列（昇順）
+   */
+  int[] find(String prefix, int after, int limit) {
+    Bucket bucket = buckets.get(prefix.charAt(0));
+    if (bucket == null) {
+      return new int[0];
+    }
+    int start = bucket.firstIndexAfter(after);
+    if (prefix.length() == 1) {
+      int end = (int) Math.min((long) start + limit, bucket.inIdOrder.length);
+      return studentIds(bucket.inIdOrder, start, end);
+    }
+    if (bucket.countInKanaRange(prefix) <= SORT_THRESHOLD) {
+      return Arrays.stream(bucket.idsInKanaRange(prefix))
+          .filter(studentId -> studentId > after)
+          .sorted()
+          .limit(limit)
+          .toArray();
+    }
+    int[] result = new int[limit];
+    int size = 0;
+    for (int i = start; i < bucket.inIdOrder.length && size < limit; i++) {
+      if (bucket.inIdOrder[i].kanaName().startsWith(prefix)) {
+        result[size++] = bucket.inIdOrder[i].studentId();
+      }
+    }
+    return Arrays.copyOf(result, size);
+  }
+
+  private static int[] studentIds(Entry[] entries, int from, int to) {
+    int[] result = new int[to - from];
+    for (int i = from; i < to; i++) {
+      result[i - from] = entries[i].studentId();
+    }
+    return result;
+  }
+
+  /**
+   * 受講生IDとフリガナの組です。
+   */
+  private record Entry(int studentId, String kanaName) {
+
+  }
+
+  /**
+   * フリガナの先頭の文字が同じ受講生をまとめたバケットです。
+   */
+  private static final class Bucket {
+
+    private static final Bucket EMPTY = new Bucket(new Entry[0], new Entry[0]);
+
+    private final Entry[] inKanaOrder;
+    private final Entry[] inIdOrder;
+
+    private Bucket(Entry[] inKanaOrder, Entry[] inIdOrder) {
+      this.inKanaOrder = inKanaOrder;
+      this.inIdOrder = inIdOrder;
+    }
+
+    /**
+     * 指定した受講生を取り除き、指定した受講生を加えたバケットを作成します。 並べ替えるのは加える受講生だけで、既存の配列とはマージします。
+     */
+    private Bucket with(Set<Integer> removedIds, List<Entry> added) {
+      Entry[] addedInKanaOrder = added.stream().sorted(KANA_ORDER).toArray(Entry[]::new);
+      Entry[] addedInIdOrder = added.stream().sorted(ID_ORDER).toArray(Entry[]::new);
+      return new Bucket(
+          SortedArrays.merge(inKanaOrder, entry -> removedIds.contains(entry.studentId()),
+              addedInKanaOrder, KANA_ORDER),
+          SortedArrays.merge(inIdOrder, entry -> removedIds.contains(entry.studentId()),
+              addedInIdOrder, ID_ORDER));
+    }
+
+    private int[] idsInKanaRange(String prefix) {
+      return studentIds(inKanaOrder, lowerBound(prefix), lowerBound(prefix + MAX_CHAR));
+    }
+
+    private int countInKanaRange(String prefix) {
+      return lowerBound(prefix + MAX_CHAR) - lowerBound(prefix);
+    }
+
+    /**
+     * 受講生IDが指定したIDより大きくなる最初の位置を二分探索で求めます。
+     */
+    private int firstIndexAfter(int after) {
+      int low = 0;
+      int high = inIdOrder.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (inIdOrder[mid].studentId() <= after) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+
+    /**
+     * 指定した文字列以上となる最初の位置を二分探索で求めます。
+     */
+    private int lowerBound(String key) {
+      int low = 0;
+      int high = inKanaOrder.length;
+      while (low < high) {
+        int mid = (low + high) >>> 1;
+        if (inKanaOrder[mid].kanaName().compareTo(key) < 0) {
+          low = mid + 1;
+        } else {
+          high = mid;
+        }
+      }
+      return low;
+    }
+  }
+}
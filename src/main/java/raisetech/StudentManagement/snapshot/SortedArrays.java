@@ -0,0 +1,92 @@
+package raisetech.StudentManagement.snapshot;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 並べ替え済みの配列から要素を取り除き、別の並べ替え済みの配列の要素を加えた新しい配列を作るユーティリティです。
+ * スナップショットの索引を変更された受講生の分だけ作り直す際に使います。 mergeは元の配列を変更せず、元の配列を並べ替え直すことなく配列の長さに比例する時間で処理します。
+ */
+final class SortedArrays {
+
+  private static final int[] EMPTY_IDS = new int[0];
+
+  private SortedArrays() {
+  }
+
+  /**
+   * 昇順に並んだIDの配列から指定したIDを取り除き、指定したIDを加えた配列を返します。 同じIDを取り除いて加えた場合は残ります。
+   *
+   * @param base    元の配列（昇順・重複なし）
+   * @param removed 取り除くID（昇順・重複なし）
+   * @param added   加えるID（昇順・重複なし）
+   * @return 新しい配列（昇順・重複なし）
+   */
+  static int[] merge(int[] base, int[] removed, int[] added) {
+    int[] result = new int[base.length + added.length];
+    int size = 0;
+    int r = 0;
+    int a = 0;
+    for (int value : base) {
+      while (r < removed.length && removed[r] < value) {
+        r++;
+      }
+      if (r < removed.length && removed[r] == value) {
+        continue;
+      }
+      while (a < added.length && added[a] < value) {
+        result[size++] = added[a++];
+      }
+      if (a < added.length && added[a] == value) {
+        a++;
+      }
+      result[size++] = value;
+    }
+    while (a < added.length) {
+      result[size++] = added[a++];
+    }
+    return size == result.length ? result : Arrays.copyOf(result, size);
+  }
+
+  /**
+   * 並べ替え済みの配列から条件に該当する要素を取り除き、同じ順序に並べた要素を加えた配列を返します。
+   *
+   * @param base       元の配列（comparatorの順）
+   * @param removed    取り除く要素の条件
+   * @param added      加える要素（comparatorの順）
+   * @param comparator 並び順
+   * @return 新しい配列（comparatorの順）
+   */
+  static <T> T[] merge(T[] base, Predicate<T> removed, T[] added,
+      Comparator<? super T> comparator) {
+    T[] result = Arrays.copyOf(base, base.length + added.length);
+    int size = 0;
+    int a = 0;
+    for (T value : base) {
+      if (removed.test(value)) {
+        continue;
+      }
+      while (a < added.length && comparator.compare(added[a], value) < 0) {
+        result[size++] = added[a++];
+      }
+      result[size++] = value;
+    }
+    while (a < added.length) {
+      result[size++] = added[a++];
+    }
+    return size == result.length ? result : Arrays.copyOf(result, size);
+  }
+
+  /**
+   * IDのリストを昇順・重複なしの配列にして返します。
+   *
+   * @param ids IDのリスト（nullの場合は空のリストとみなす）
+   * @return 昇順・重複なしの配列
+   */
+  static int[] sortedDistinct(List<Integer> ids) {
+    return ids == null ? EMPTY_IDS
+        : ids.stream().mapToInt(Integer::intValue).sorted().distinct().toArray();
+  }
+}
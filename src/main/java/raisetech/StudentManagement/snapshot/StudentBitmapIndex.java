@@ -0,0 +1,181 @@
+package raisetech.StudentManagement.snapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.roaringbitmap.RoaringBitmap;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.data.StudentApplicationStatus;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentCountCondition;
+import raisetech.StudentManagement.domain.StudentDetail;
+
+/**
+ * 値の種類が少ない属性（性別・地域・コース名・申込状況）の値ごとに、該当する受講生IDの集合をビットマップで持つ索引です。
+ * 条件の組み合わせはビットマップのAND・ORで求めるので、受講生を１人ずつ調べずに人数を数えられます。 生成後は変更しません。
+ * <p>
+ * コース名と申込状況は同じコースで両方を満たす受講生を対象とするため、コース名と申込状況の組み合わせごとのビットマップも持ちます。
+ * 受講生の追加・変更は{@link #with(Map, Map)}で、変更された受講生が属する値のビットマップだけを複製した新しい索引として反映します。
+ */
+final class StudentBitmapIndex {
+
+  /**
+   * 受講生が１人もいない索引です。
+   */
+  static final StudentBitmapIndex EMPTY = new StudentBitmapIndex();
+
+  private final RoaringBitmap all;
+  private final Map<String, RoaringBitmap> bySex;
+  private final Map<String, RoaringBitmap> byArea;
+  private final Map<String, RoaringBitmap> byCourseName;
+  private final Map<String, RoaringBitmap> byStatus;
+  private final Map<List<String>, RoaringBitmap> byCourseNameAndStatus;
+
+  private StudentBitmapIndex() {
+    this.all = new RoaringBitmap();
+    this.bySex = new HashMap<>();
+    this.byArea = new HashMap<>();
+    this.byCourseName = new HashMap<>();
+    this.byStatus = new HashMap<>();
+    this.byCourseNameAndStatus = new HashMap<>();
+  }
+
+  /**
+   * 元の索引のビットマップを共有したまま、値ごとのマップだけをコピーします。 共有しているビットマップは変更前に複製します。
+   */
+  private StudentBitmapIndex(StudentBitmapIndex source) {
+    this.all = source.all.clone();
+    this.bySex = new HashMap<>(source.bySex);
+    this.byArea = new HashMap<>(source.byArea);
+    this.byCourseName = new HashMap<>(source.byCourseName);
+    this.byStatus = new HashMap<>(source.byStatus);
+    this.byCourseNameAndStatus = new HashMap<>(source.byCourseNameAndStatus);
+  }
+
+  /**
+   * 指定した受講生を取り除き、指定した受講生を加えた新しい索引を作成します。 複製するのは取り除く・加える受講生が属する値のビットマップだけで、
+   * それ以外のビットマップはこの索引と共有します。 この索引自体は変更しません。
+   *
+   * @param removed 取り除く受講生ID・受講生詳細（変更前の受講生詳細）
+   * @param added   加える受講生ID・受講生詳細（変更後の受講生詳細）
+   * @return 新しい索引
+   */
+  StudentBitmapIndex with(Map<Integer, StudentDetail> removed,
+      Map<Integer, StudentDetail> added) {
+    StudentBitmapIndex updated = new StudentBitmapIndex(this);
+    Set<RoaringBitmap> copied = Collections.newSetFromMap(new IdentityHashMap<>());
+    removed.forEach((studentId, detail) -> updated.update(studentId, detail, false, copied));
+    added.forEach((studentId, detail) -> updated.update(studentId, detail, true, copied));
+
+    updated.all.runOptimize();
+    copied.forEach(RoaringBitmap::runOptimize);
+    for (Map<?, RoaringBitmap> index : List.of(updated.bySex, updated.byArea,
+        updated.byCourseName, updated.byStatus, updated.byCourseNameAndStatus)) {
+      index.values().removeIf(RoaringBitmap::isEmpty);
+    }
+    return updated;
+  }
+
+  /**
+   * 条件に該当する受講生の人数を返します。
+   *
+   * @param condition 条件（空のリストの項目は条件に含めない）
+   * @return 受講生の人数
+   */
+  long count(StudentCountCondition condition) {
+    RoaringBitmap result = all.clone();
+    if (!condition.getSexes().isEmpty()) {
+      result.and(union(bySex, condition.getSexes()));
+    }
+    if (!condition.getAreas().isEmpty()) {
+      result.and(union(byArea, condition.getAreas()));
+    }
+    if (condition.hasCourseCondition()) {
+      result.and(courseUnion(condition.getCourseNames(), condition.getStatuses()));
+    }
+    return result.getLongCardinality();
+  }
+
+  /**
+   * コース名・申込状況の条件に該当する受講生IDの集合を求めます。 両方が指定されている場合は、組み合わせごとのビットマップの和集合になります。
+   */
+  private RoaringBitmap courseUnion(List<String> courseNames, List<String> statuses) {
+    if (statuses.isEmpty()) {
+      return union(byCourseName, courseNames);
+    }
+    if (courseNames.isEmpty()) {
+      return union(byStatus, statuses);
+    }
+    List<List<String>> keys = new ArrayList<>();
+    courseNames.forEach(courseName -> statuses.forEach(
+        status -> keys.add(List.of(courseName, status))));
+    return union(byCourseNameAndStatus, keys);
+  }
+
+  private static <K> RoaringBitmap union(Map<K, RoaringBitmap> index, List<K> keys) {
+    return RoaringBitmap.or(keys.stream()
+        .map(index::get)
+        .filter(Objects::nonNull)
+        .iterator());
+  }
+
+  /**
+   * 受講生詳細が属する値のビットマップに受講生IDを加える、またはビットマップから取り除きます。
+   */
+  private void update(int studentId, StudentDetail detail, boolean add,
+      Set<RoaringBitmap> copied) {
+    Student student = detail.getStudent();
+    if (add) {
+      all.add(studentId);
+    } else {
+      all.remove(studentId);
+    }
+    update(bySex, student.getSex(), studentId, add, copied);
+    update(byArea, student.getArea(), studentId, add, copied);
+
+    Map<Integer, List<String>> statusesByCourseId = new HashMap<>();
+    for (StudentApplicationStatus status : detail.getStudentApplicationStatus()) {
+      statusesByCourseId.computeIfAbsent(status.getStudentCourseId(), key -> new ArrayList<>())
+          .add(status.getStatus());
+    }
+    for (StudentCourse course : detail.getStudentCourseList()) {
+      update(byCourseName, course.getCourseName(), studentId, add, copied);
+      for (String status : statusesByCourseId.getOrDefault(course.getId(), List.of())) {
+        update(byStatus, status, studentId, add, copied);
+        if (course.getCourseName() != null && status != null) {
+          update(byCourseNameAndStatus, List.of(course.getCourseName(), status), studentId, add,
+              copied);
+        }
+      }
+    }
+  }
+
+  /**
+   * 値のビットマップを、この索引だけが持つ複製にしてから受講生IDを加える、または取り除きます。
+   */
+  private static <K> void update(Map<K, RoaringBitmap> index, K key, int studentId, boolean add,
+      Set<RoaringBitmap> copied) {
+    if (key == null) {
+      return;
+    }
+    RoaringBitmap bitmap = index.get(key);
+    if (bitmap == null && !add) {
+      return;
+    }
+    if (!copied.contains(bitmap)) {
+      bitmap = bitmap == null ? new RoaringBitmap() : bitmap.clone();
+      index.put(key, bitmap);
+      copied.add(bitmap);
+    }
+    if (add) {
+      bitmap.add(studentId);
+    } else {
+      bitmap.remove(studentId);
+    }
+  }
+}
@@ -0,0 +1,450 @@
+package raisetech.StudentManagement.snapshot;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.data.StudentApplicationStatus;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StatusTransitionRequest;
+import raisetech.StudentManagement.domain.StudentCountCondition;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.domain.StudentDetailPage;
+
+/**
+ * ある時点の受講生・受講生コース情報・申込状況をすべて保持し、検索条件ごとの索引を持つ読み取り専用のスナップショットです。
+ * <p>
+ * 索引は条件の値ごとに該当する受講生ID・コースIDを昇順に並べたint配列で持ち、フリガナは前方一致用の{@link KanaPrefixIndex}、
+ * コースの受講開始日・受講期間は{@link CourseIntervalIndex}、人数の集計に使う属性は{@link StudentBitmapIndex}で持ちます。 生成後は変更しないので、複数のスレッドから同時に検索できます。
+ * 登録・更新を反映する場合は{@link #withStudents(Collection)}で新しいスナップショットを作成して差し替えます。
+ * 新しいスナップショットでは、変更された受講生が属する値（キー）の配列・バケット・ビットマップだけを作り直し、それ以外はこのスナップショットと共有するので、
+ * 反映にかかる時間は全件の件数ではなく変更された受講生とその値に該当する件数に比例します。
+ * 検索結果の受講生詳細はスナップショット内のオブジェクトを共有するので、呼び出し元で変更しないでください。
+ */
+public final class StudentSnapshot {
+
+  private static final StudentSnapshot EMPTY = new StudentSnapshot(ChunkedIdMap.empty(),
+      ChunkedIdMap.empty(), ChunkedIdMap.empty(), KanaPrefixIndex.EMPTY, new TreeMap<>(),
+      new HashMap<>(), new HashMap<>(), new HashMap<>(), CourseIntervalIndex.EMPTY,
+      StudentBitmapIndex.EMPTY);
+
+  private final ChunkedIdMap<StudentDetail> studentsById;
+  private final ChunkedIdMap<StudentCourse> coursesById;
+  private final ChunkedIdMap<List<StudentApplicationStatus>> statusesByCourseId;
+
+  private final KanaPrefixIndex kanaPrefixIndex;
+  private final NavigableMap<Integer, int[]> studentIdsByAge;
+  private final Map<String, int[]> studentIdsBySex;
+  private final Map<String, int[]> courseIdsByCourseName;
+  private final Map<String, int[]> courseIdsByStatus;
+  private final CourseIntervalIndex courseIntervalIndex;
+  private final StudentBitmapIndex bitmapIndex;
+
+  private StudentSnapshot(ChunkedIdMap<StudentDetail> studentsById,
+      ChunkedIdMap<StudentCourse> coursesById,
+      ChunkedIdMap<List<StudentApplicationStatus>> statusesByCourseId,
+      KanaPrefixIndex kanaPrefixIndex, NavigableMap<Integer, int[]> studentIdsByAge,
+      Map<String, int[]> studentIdsBySex, Map<String, int[]> courseIdsByCourseName,
+      Map<String, int[]> courseIdsByStatus, CourseIntervalIndex courseIntervalIndex,
+      StudentBitmapIndex bitmapIndex) {
+    this.studentsById = studentsById;
+    this.coursesById = coursesById;
+    this.statusesByCourseId = statusesByCourseId;
+    this.kanaPrefixIndex = kanaPrefixIndex;
+    this.studentIdsByAge = studentIdsByAge;
+    this.studentIdsBySex = studentIdsBySex;
+    this.courseIdsByCourseName = courseIdsByCourseName;
+    this.courseIdsByStatus = courseIdsByStatus;
+    this.courseIntervalIndex = courseIntervalIndex;
+    this.bitmapIndex = bitmapIndex;
+  }
+
+  /**
+   * 空のスナップショットを返します。
+   *
+   * @return 空のスナップショット
+   */
+  public static StudentSnapshot empty() {
+    return EMPTY;
+  }
+
+  /**
+   * 受講生詳細の一覧からスナップショットを作成します。
+   *
+   * @param studentDetails 受講生詳細の一覧（全件）
+   * @return スナップショット
+   */
+  public static StudentSnapshot of(Collection<StudentDetail> studentDetails) {
+    return EMPTY.withStudents(studentDetails);
+  }
+
+  /**
+   * 指定した受講生詳細を追加・置き換えた新しいスナップショットを作成します。 このスナップショット自体は変更しません。
+   * <p>
+   * 置き換える受講生は変更前の受講生詳細の値を索引から取り除いてから、変更後の値を加えます。
+   *
+   * @param studentDetails 登録・更新された受講生詳細
+   * @return 新しいスナップショット
+   */
+  public StudentSnapshot withStudents(Collection<StudentDetail> studentDetails) {
+    Map<Integer, StudentDetail> added = new LinkedHashMap<>();
+    studentDetails.forEach(detail -> added.put(studentId(detail), detail));
+    Map<Integer, StudentDetail> removed = new LinkedHashMap<>();
+    added.keySet().forEach(studentId -> {
+      StudentDetail previous = studentsById.get(studentId);
+      if (previous != null) {
+        removed.put(studentId, previous);
+      }
+    });
+
+    Changes changes = new Changes();
+    removed.forEach((studentId, detail) -> changes.collect(studentId, detail, false));
+    added.forEach((studentId, detail) -> changes.collect(studentId, detail, true));
+
+    return new StudentSnapshot(
+        studentsById.with(removed.keySet(), added),
+        coursesById.with(changes.removedCourseIds, changes.addedCourses),
+        statusesByCourseId.with(changes.removedStatusCourseIds, changes.addedStatuses),
+        kanaPrefixIndex.with(changes.removedKanaNames, changes.addedKanaNames),
+        changes.byAge.applyTo(studentIdsByAge, new TreeMap<>()),
+        changes.bySex.applyTo(studentIdsBySex, new HashMap<>()),
+        changes.byCourseName.applyTo(courseIdsByCourseName, new HashMap<>()),
+        changes.byStatus.applyTo(courseIdsByStatus, new HashMap<>()),
+        courseIntervalIndex.with(changes.removedCourses, changes.addedCourses.values()),
+        bitmapIndex.with(removed, added));
+  }
+
+  /**
+   * 保持している受講生の人数を返します。
+   *
+   * @return 受講生の人数
+   */
+  public int size() {
+    return studentsById.size();
+  }
+
+  /**
+   * 条件に該当する受講生の人数を返します。 属性ごとのビットマップのAND・ORで求めます。
+   *
+   * @param condition 条件（空のリストの項目は条件に含めない）
+   * @return 受講生の人数
+   */
+  public long count(StudentCountCondition condition) {
+    return bitmapIndex.count(condition);
+  }
+
+  /**
+   * 全件の受講生詳細を受講生ID順に返します。
+   *
+   * @return 受講生詳細の一覧
+   */
+  public List<StudentDetail> findAll() {
+    return studentsById.values().toList();
+  }
+
+  /**
+   * IDに該当する受講生詳細を返します。
+   *
+   * @param id 受講生ID
+   * @return 受講生詳細（該当する受講生が存在しない場合はnull）
+   */
+  public StudentDetail findById(String id) {
+    try {
+      return studentsById.get(Integer.valueOf(id));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * フリガナが指定した文字列から始まる受講生の受講生詳細を受講生ID順に返します。
+   *
+   * @param prefix フリガナの先頭の文字列
+   * @return 受講生詳細の一覧
+   */
+  public List<StudentDetail> findByKanaPrefix(String prefix) {
+    return studentDetails(IntStream.of(kanaPrefixIndex.find(prefix)), detail -> true);
+  }
+
+  /**
+   * フリガナが指定した文字列から始まる受講生の受講生詳細を受講生ID順に１ページ分返します。
+   *
+   * @param prefix フリガナの先頭の文字列
+   * @param after  直前のページの最後の受講生ID（最初のページは0）
+   * @param limit  １ページの最大件数
+   * @return 受講生詳細のページ
+   */
+  public StudentDetailPage findPageByKanaPrefix(String prefix, int after, int limit) {
+    // 次のページの有無を判定するため１件多く取得する
+    int[] studentIds = kanaPrefixIndex.find(prefix, after, limit + 1);
+    boolean hasNext = studentIds.length > limit;
+    List<StudentDetail> content = studentDetails(
+        IntStream.of(studentIds).limit(limit), detail -> true);
+    Integer nextCursor = hasNext ? studentIds[limit - 1] : null;
+    return new StudentDetailPage(content, nextCursor);
+  }
+
+  /**
+   * 年齢が指定した範囲（両端を含む）の受講生の受講生詳細を受講生ID順に返します。
+   *
+   * @param minAge 年齢の下限
+   * @param maxAge 年齢の上限
+   * @return 受講生詳細の一覧
+   */
+  public List<StudentDetail> findByAgeRange(int minAge, int maxAge) {
+    if (minAge > maxAge) {
+      return List.of();
+    }
+    return studentDetails(studentIdsByAge.subMap(minAge, true, maxAge, true).values().stream()
+        .flatMapToInt(IntStream::of), detail -> true);
+  }
+
+  /**
+   * 性別が一致する受講生の受講生詳細を受講生ID順に返します。
+   *
+   * @param sex 性別
+   * @return 受講生詳細の一覧
+   */
+  public List<StudentDetail> findBySex(String sex) {
+    return studentDetails(IntStream.of(studentIdsBySex.getOrDefault(sex, new int[0])),
+        detail -> true);
+  }
+
+  /**
+   * 指定したコース名のコースを持つ受講生の受講生詳細を受講生ID順に返します。 各受講生詳細には該当するコースとその申込状況のみを設定します。
+   *
+   * @param courseName コース名
+   * @return 受講生詳細の一覧
+   */
+  public List<StudentDetail> findByCourseName(String courseName) {
+    return courseDetails(IntStream.of(courseIdsByCourseName.getOrDefault(courseName, new int[0])),
+        status -> true);
+  }
+
+  /**
+   * 受講開始日が指定した期間（両端を含む）にあるコースを持つ受講生の受講生詳細を受講生ID順に返します。
+   * 各受講生詳細には該当するコースとその申込状況のみを設定します。
+   *
+   * @param from 期間の始まり
+   * @param to   期間の終わり
+   * @return 受講生詳細の一覧
+   */
+  public List<StudentDetail> findByCourseStartRange(LocalDateTime from, LocalDateTime to) {
+    if (from.isAfter(to)) {
+      return List.of();
+    }
+    return courseDetails(courseIntervalIndex.findStartingBetween(from, to), status -> true);
+  }
+
+  /**
+   * 受講期間が指定した期間（両端を含む）と重なるコースを持つ受講生の受講生詳細を受講生ID順に返します。
+   * 各受講生詳細には該当するコースとその申込状況のみを設定します。
+   *
+   * @param from 期間の始まり
+   * @param to   期間の終わり
+   * @return 受講生詳細の一覧
+   */
+  public List<StudentDetail> findByCourseActiveRange(LocalDateTime from, LocalDateTime to) {
+    if (from.isAfter(to)) {
+      return List.of();
+    }
+    return courseDetails(courseIntervalIndex.findOverlapping(from, to), status -> true);
+  }
+
+  /**
+   * 受講終了日が指定した日時より前のコースを持つ受講生の受講生詳細を受講生ID順に返します。
+   * 各受講生詳細には該当するコースとその申込状況のみを設定します。
+   *
+   * @param before この日時より前に受講が終了するコースを対象とする
+   * @return 受講生詳細の一覧
+   */
+  public List<StudentDetail> findByCourseEndBefore(LocalDateTime before) {
+    return courseDetails(courseIntervalIndex.findEndingBefore(before), status -> true);
+  }
+
+  /**
+   * 指定した申込状況のコースを持つ受講生の受講生詳細を受講生ID順に返します。 各受講生詳細には該当するコースと、指定した申込状況のみを設定します。
+   *
+   * @param status 申込状況
+   * @return 受講生詳細の一覧
+   */
+  public List<StudentDetail> findByStatus(String status) {
+    return courseDetails(IntStream.of(courseIdsByStatus.getOrDefault(status, new int[0])),
+        applicationStatus -> status.equals(applicationStatus.getStatus()));
+  }
+
+  /**
+   * 申込状況の一括変更の対象となるコース、つまり指定したコース名・コースIDのコースのうち申込状況が変更前の申込状況であるものを持つ受講生のIDを返します。
+   *
+   * @param request 申込状況の一括変更の内容
+   * @return 受講生IDのリスト（受講生ID順）
+   */
+  public List<String> findStudentIdsForStatusTransition(StatusTransitionRequest request) {
+    Set<Integer> courseIds = request.getCourseIds() == null ? Set.of()
+        : Set.copyOf(request.getCourseIds());
+    IntStream candidates = request.getCourseName() != null
+        ? IntStream.of(courseIdsByCourseName.getOrDefault(request.getCourseName(), new int[0]))
+        : courseIds.stream().mapToInt(Integer::intValue);
+    return candidates
+        .filter(courseId -> courseIds.isEmpty() || courseIds.contains(courseId))
+        .filter(courseId -> {
+          List<StudentApplicationStatus> statuses = statusesByCourseId.get(courseId);
+          return statuses != null && statuses.stream()
+              .anyMatch(status -> request.getFromStatus().equals(status.getStatus()));
+        })
+        .mapToObj(coursesById::get)
+        .filter(Objects::nonNull)
+        .mapToInt(course -> Integer.parseInt(course.getStudentId()))
+        .sorted()
+        .distinct()
+        .mapToObj(String::valueOf)
+        .toList();
+  }
+
+  /**
+   * 受講生IDに該当する受講生詳細を、条件を満たすものだけ受講生ID順に返します。
+   */
+  private List<StudentDetail> studentDetails(IntStream studentIds,
+      Predicate<StudentDetail> filter) {
+    return studentIds.sorted()
+        .distinct()
+        .mapToObj(studentsById::get)
+        .filter(Objects::nonNull)
+        .filter(filter)
+        .toList();
+  }
+
+  /**
+   * コースIDに該当するコースを受講生ごとにまとめ、そのコースと条件を満たす申込状況のみを設定した受講生詳細を受講生ID順に返します。
+   */
+  private List<StudentDetail> courseDetails(IntStream courseIds,
+      Predicate<StudentApplicationStatus> statusFilter) {
+    NavigableMap<Integer, List<StudentCourse>> coursesByStudentId = new TreeMap<>();
+    courseIds.sorted()
+        .distinct()
+        .mapToObj(coursesById::get)
+        .filter(Objects::nonNull)
+        .forEach(course -> coursesByStudentId
+            .computeIfAbsent(Integer.valueOf(course.getStudentId()), key -> new ArrayList<>())
+            .add(course));
+
+    List<StudentDetail> result = new ArrayList<>(coursesByStudentId.size());
+    coursesByStudentId.forEach((studentId, courses) -> {
+      StudentDetail detail = studentsById.get(studentId);
+      if (detail == null) {
+        return;
+      }
+      List<StudentApplicationStatus> statuses = new ArrayList<>();
+      courses.forEach(course -> {
+        List<StudentApplicationStatus> courseStatuses = statusesByCourseId.get(course.getId());
+        if (courseStatuses != null) {
+          courseStatuses.stream().filter(statusFilter).forEach(statuses::add);
+        }
+      });
+      result.add(new StudentDetail(detail.getStudent(), courses, statuses));
+    });
+    return result;
+  }
+
+  private static int studentId(StudentDetail detail) {
+    return Integer.parseInt(detail.getStudent().getId());
+  }
+
+  /**
+   * 変更前の受講生詳細から取り除く値と、変更後の受講生詳細から加える値を索引ごとに集めます。
+   */
+  private static final class Changes {
+
+    private final List<Integer> removedCourseIds = new ArrayList<>();
+    private final List<StudentCourse> removedCourses = new ArrayList<>();
+    private final List<Integer> removedStatusCourseIds = new ArrayList<>();
+    private final Map<Integer, StudentCourse> addedCourses = new HashMap<>();
+    private final Map<Integer, List<StudentApplicationStatus>> addedStatuses = new HashMap<>();
+    private final Map<Integer, String> removedKanaNames = new HashMap<>();
+    private final Map<Integer, String> addedKanaNames = new HashMap<>();
+    private final IdChanges<Integer> byAge = new IdChanges<>();
+    private final IdChanges<String> bySex = new IdChanges<>();
+    private final IdChanges<String> byCourseName = new IdChanges<>();
+    private final IdChanges<String> byStatus = new IdChanges<>();
+
+    private void collect(int studentId, StudentDetail detail, boolean add) {
+      Student student = detail.getStudent();
+      if (student.getKanaName() != null) {
+        (add ? addedKanaNames : removedKanaNames).put(studentId, student.getKanaName());
+      }
+      byAge.put(student.getAge(), studentId, add);
+      bySex.put(student.getSex(), studentId, add);
+
+      for (StudentCourse course : detail.getStudentCourseList()) {
+        if (course.getId() == null) {
+          continue;
+        }
+        if (add) {
+          addedCourses.put(course.getId(), course);
+        } else {
+          removedCourseIds.add(course.getId());
+          removedCourses.add(course);
+        }
+        byCourseName.put(course.getCourseName(), course.getId(), add);
+      }
+      for (StudentApplicationStatus status : detail.getStudentApplicationStatus()) {
+        if (status.getStudentCourseId() == null) {
+          continue;
+        }
+        if (add) {
+          addedStatuses.computeIfAbsent(status.getStudentCourseId(), key -> new ArrayList<>())
+              .add(status);
+        } else {
+          removedStatusCourseIds.add(status.getStudentCourseId());
+        }
+        byStatus.put(status.getStatus(), status.getStudentCourseId(), add);
+      }
+    }
+  }
+
+  /**
+   * 値ごとのID配列の索引について、値ごとに取り除くIDと加えるIDを集めます。
+   */
+  private static final class IdChanges<K> {
+
+    private final Map<K, List<Integer>> removed = new HashMap<>();
+    private final Map<K, List<Integer>> added = new HashMap<>();
+
+    private void put(K key, Integer id, boolean add) {
+      if (key != null && id != null) {
+        (add ? added : removed).computeIfAbsent(key, k -> new ArrayList<>()).add(id);
+      }
+    }
+
+    /**
+     * 元の索引をコピーし、変更のあった値の配列だけをマージし直して返します。
+     */
+    private <M extends Map<K, int[]>> M applyTo(Map<K, int[]> index, M result) {
+      result.putAll(index);
+      Set<K> keys = new HashSet<>(removed.keySet());
+      keys.addAll(added.keySet());
+      for (K key : keys) {
+        int[] merged = SortedArrays.merge(result.getOrDefault(key, new int[0]),
+            SortedArrays.sortedDistinct(removed.get(key)),
+            SortedArrays.sortedDistinct(added.get(key)));
+        if (merged.length == 0) {
+          result.remove(key);
+        } else {
+          result.put(key, merged);
+        }
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package raisetech.StudentManagement.snapshot;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import raisetech.StudentManagement.domain.StudentChangedEvent;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.repository.StudentRepository;
+
+/**
+ * 受講生のスナップショット（{@link StudentSnapshot}）を保持し、最新の状態に保つコンポーネントです。
+ * <p>
+ * student-management.snapshot.enabled=true の場合のみ有効で、起動完了時に全件を読み込みます。
+ * 受講生詳細の登録・更新はコミット後に{@link StudentChangedEvent}で受け取り、変更された受講生だけをデータベースから読み直して
+ * 新しいスナップショットに差し替えます。 差し替えは参照の入れ替えのみなので、検索中のスレッドは差し替え前のスナップショットをそのまま参照できます。
+ * 申込状況の一括変更は、現在のスナップショットで変更前の申込状況の対象のコースを持つ受講生を求めて読み直します。
+ * <p>
+ * 全件の読み込み中に受け取ったイベントは、読み込み結果に含まれていない可能性があるため保留しておき、読み込みの完了後に対象の受講生を読み直して反映します。
+ */
+@Slf4j
+@Component
+public class StudentSnapshotService {
+
+  /**
+   * 変更された受講生を読み直す際にIN句に指定するIDの最大件数です。
+   */
+  static final int RELOAD_CHUNK_SIZE = 1000;
+
+  private final StudentRepository repository;
+  private final boolean enabled;
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Queue<StudentChangedEvent> pendingEvents = new ConcurrentLinkedQueue<>();
+
+  private volatile StudentSnapshot current;
+  private volatile boolean loading;
+
+  public StudentSnapshotService(StudentRepository repository,
+      @Value("${student-management.snapshot.enabled:false}") boolean enabled) {
+    this.repository = repository;
+    this.enabled = enabled;
+  }
+
+  /**
+   * スナップショットから検索できるかを返します。 設定で有効になっていて、かつ全件の読み込みが完了している場合にtrueを返します。
+   *
+   * @return スナップショットから検索できる場合はtrue
+   */
+  public boolean isEnabled() {
+    return enabled && current != null;
+  }
+
+  /**
+   * 現在のスナップショットを返します。
+   *
+   * @return 現在のスナップショット（読み込み前の場合は空のスナップショット）
+   */
+  public StudentSnapshot current() {
+    StudentSnapshot snapshot = current;
+    return snapshot == null ? StudentSnapshot.empty() : snapshot;
+  }
+
+  /**
+   * 起動完了時に全件を読み込みます。
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void onApplicationReady() {
+    if (enabled) {
+      refresh();
+    }
+  }
+
+  /**
+   * 受講生詳細の全件をデータベースから読み込み、スナップショットを差し替えます。 読み込み中に受け取ったイベントの受講生は、差し替え後に読み直して反映します。
+   */
+  public void refresh() {
+    lock.lock();
+    try {
+      loading = true;
+      current = StudentSnapshot.of(repository.searchStudentDetailList());
+      // currentを差し替えてからloadingを戻すことで、これ以降のイベントは保留せずに自分で反映する
+      loading = false;
+      List<String> pending = new ArrayList<>();
+      for (StudentChangedEvent event = pendingEvents.poll(); event != null;
+          event = pendingEvents.poll()) {
+        pending.addAll(changedStudentIds(event, current));
+      }
+      if (!pending.isEmpty()) {
+        current = current.withStudents(reload(pending));
+      }
+      log.info("受講生のスナップショットを読み込みました: {}件（読み込み中の変更 {}件を反映）", current.size(),
+          pending.size());
+    } finally {
+      loading = false;
+      lock.unlock();
+    }
+  }
+
+  /**
+   * 登録・更新のコミット後に、変更された受講生だけをデータベースから読み直してスナップショットに反映します。
+   * 全件の読み込み中の場合はイベントを保留し、読み込みの完了後に反映します。 読み込み前の場合は何もしません（読み込み時に全件を取得するため）。
+   *
+   * @param event 受講生詳細の登録・更新イベント
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStudentChanged(StudentChangedEvent event) {
+    if (!enabled || (event.getStudentIds().isEmpty() && event.getStatusTransition() == null)) {
+      return;
+    }
+    if (loading) {
+      pendingEvents.add(event);
+      // 保留した後も読み込み中なら、読み込みの完了後に反映される
+      if (loading) {
+        return;
+      }
+    }
+    if (current == null) {
+      return;
+    }
+
+    lock.lock();
+    try {
+      List<String> studentIds = changedStudentIds(event, current);
+      if (!studentIds.isEmpty()) {
+        current = current.withStudents(reload(studentIds));
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * イベントで変更された受講生のIDを返します。 申込状況の一括変更は、スナップショットで変更前の申込状況の対象のコースを持つ受講生を求めます。
+   * 変更をまだ反映していないスナップショットでは、対象の受講生のコースは変更前の申込状況のままです。
+   */
+  private static List<String> changedStudentIds(StudentChangedEvent event,
+      StudentSnapshot snapshot) {
+    if (event.getStatusTransition() == null) {
+      return event.getStudentIds();
+    }
+    List<String> studentIds = new ArrayList<>(event.getStudentIds());
+    studentIds.addAll(snapshot.findStudentIdsForStatusTransition(event.getStatusTransition()));
+    return studentIds;
+  }
+
+  /**
+   * 受講生詳細をIN句の件数の上限ごとに分けてデータベースから読み直します。
+   */
+  private List<StudentDetail> reload(Collection<String> studentIds) {
+    List<String> distinctIds = studentIds.stream().distinct().toList();
+    List<StudentDetail> changed = new ArrayList<>();
+    for (int from = 0; from < distinctIds.size(); from += RELOAD_CHUNK_SIZE) {
+      int to = Math.min(from + RELOAD_CHUNK_SIZE, distinctIds.size());
+      changed.addAll(repository.findStudentDetailsByIds(distinctIds.subList(from, to)));
+    }
+    return changed;
+  }
+}
@@ -0,0 +1,225 @@
+package raisetech.StudentManagement.statistics;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import raisetech.StudentManagement.data.StudentApplicationStatus;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentChangedEvent;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.domain.StudentStatistics;
+import raisetech.StudentManagement.repository.StudentRepository;
+
+/**
+ * コース名・申込状況・地域ごとの受講生の人数（{@link StudentStatistics}）をメモリ上のカウンタで保持するコンポーネントです。
+ * <p>
+ * 最初の参照時にデータベースのGROUP BYで集計し、以降は{@link StudentChangedEvent}に含まれる変更前の受講生詳細の分を差し引いて
+ * 変更後の受講生詳細の分を足し込みます。 データベースは読み直さず、参照のたびに全件を集計し直すこともありません。
+ * 申込状況の一括変更のように変更後の受講生詳細が分からないイベントを受け取った場合は、カウンタを破棄して次の参照時に集計し直します。
+ * <p>
+ * イベントは発行された時点で読み取りロックを取り、コミット後に反映してからトランザクションの終了時にロックを解放します。 集計は書き込みロックを取って行うので、
+ * 集計の結果には集計の開始前にコミットされた変更がすべて含まれ、集計の開始後にコミットされる変更は集計後のカウンタにイベントで反映されます。
+ * カウンタは{@link LongAdder}なので、イベントの反映は読み取りロックのまま複数のスレッドから同時に行えます。
+ */
+@Slf4j
+@Component
+public class StudentStatisticsService {
+
+  private final StudentRepository repository;
+  private final TransactionTemplate transactionTemplate;
+  private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private volatile Counters counters;
+
+  public StudentStatisticsService(StudentRepository repository,
+      PlatformTransactionManager transactionManager) {
+    this.repository = repository;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+  }
+
+  /**
+   * 受講生の集計を返します。 集計前の場合のみデータベースから集計します。
+   *
+   * @return コース名・申込状況・地域ごとの受講生の人数
+   */
+  public StudentStatistics getStatistics() {
+    Counters current = counters;
+    if (current == null) {
+      current = load();
+    }
+    return current.toStatistics();
+  }
+
+  /**
+   * 登録・更新のイベントを受け取り、コミット後にカウンタへ反映します。 読み取りロックはトランザクションの終了まで保持し、ロールバックされた場合は反映しません。
+   * トランザクション外で発行された場合はその場で反映します。
+   *
+   * @param event 受講生詳細の登録・更新イベント
+   */
+  @EventListener
+  public void onStudentChanged(StudentChangedEvent event) {
+    Lock readLock = lock.readLock();
+    readLock.lock();
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      try {
+        apply(event);
+      } finally {
+        readLock.unlock();
+      }
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        try {
+          if (status == STATUS_COMMITTED) {
+            apply(event);
+          } else if (status == STATUS_UNKNOWN) {
+            // コミットされたか分からないので、次の参照時に集計し直す
+            counters = null;
+          }
+        } finally {
+          readLock.unlock();
+        }
+      }
+    });
+  }
+
+  /**
+   * コミットされた変更をカウンタに反映します。 集計前の場合は何もしません（集計の結果に含まれるため）。
+   */
+  private void apply(StudentChangedEvent event) {
+    Counters current = counters;
+    if (current == null) {
+      return;
+    }
+    if (event.getCurrentDetails() == null) {
+      counters = null;
+      return;
+    }
+    event.getPreviousDetails().forEach(detail -> current.apply(detail, -1));
+    event.getCurrentDetails().forEach(detail -> current.apply(detail, 1));
+  }
+
+  /**
+   * データベースのGROUP BYで全件を集計し、カウンタを差し替えます。 書き込みロックを待つ間にコネクションを確保できなくならないよう、
+   * 先にトランザクションを開始してから書き込みロックを取ります。
+   *
+   * @return 差し替え後のカウンタ
+   */
+  private Counters load() {
+    // 読み取りロックを持ったまま書き込みロックは取れないので、受講生の変更と同じトランザクションでは集計しない
+    if (lock.getReadHoldCount() > 0) {
+      throw new IllegalStateException("受講生詳細を変更したトランザクション内では受講生の集計を取得できません");
+    }
+    return transactionTemplate.execute(status -> {
+      Lock writeLock = lock.writeLock();
+      writeLock.lock();
+      try {
+        if (counters != null) {
+          return counters;
+        }
+        Counters loaded = new Counters();
+        repository.countStudentsByCourseName().forEach(
+            count -> add(loaded.studentsByCourse, count.getName(), count.getStudentCount()));
+        repository.countStudentsByCourseNameAndStatus().forEach(
+            count -> add(loaded.studentsByCourseAndStatus,
+                count.getName() == null || count.getStatus() == null ? null
+                    : List.of(count.getName(), count.getStatus()),
+                count.getStudentCount()));
+        repository.countStudentsByArea().forEach(
+            count -> add(loaded.studentsByArea, count.getName(), count.getStudentCount()));
+        counters = loaded;
+        log.info("受講生の集計を読み込みました");
+        return loaded;
+      } finally {
+        writeLock.unlock();
+      }
+    });
+  }
+
+  private static <K> void add(Map<K, LongAdder> counters, K key, long delta) {
+    if (key != null) {
+      counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+    }
+  }
+
+  private static Map<String, Long> toCounts(Map<String, LongAdder> counters) {
+    Map<String, Long> counts = new TreeMap<>();
+    counters.forEach((key, count) -> {
+      long value = count.sum();
+      if (value > 0) {
+        counts.put(key, value);
+      }
+    });
+    return counts;
+  }
+
+  /**
+   * ある時点の集計結果を起点とするカウンタの組です。 集計し直す際は新しい組を作って参照ごと差し替えます。
+   */
+  static final class Counters {
+
+    private final Map<String, LongAdder> studentsByCourse = new ConcurrentHashMap<>();
+    private final Map<List<String>, LongAdder> studentsByCourseAndStatus =
+        new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> studentsByArea = new ConcurrentHashMap<>();
+
+    private StudentStatistics toStatistics() {
+      Map<String, Map<String, Long>> byCourseAndStatus = new TreeMap<>();
+      studentsByCourseAndStatus.forEach((key, count) -> {
+        long value = count.sum();
+        if (value > 0) {
+          byCourseAndStatus.computeIfAbsent(key.get(0), name -> new TreeMap<>())
+              .put(key.get(1), value);
+        }
+      });
+      return new StudentStatistics(toCounts(studentsByCourse), byCourseAndStatus,
+          toCounts(studentsByArea));
+    }
+
+    /**
+     * １人の受講生が集計に寄与する分（地域、コース名、コース名と申込状況の組み合わせを各１人）をカウンタに加えます。
+     * 同じコース名のコースを複数持つ場合も１人として数えます。
+     */
+    private void apply(StudentDetail detail, int sign) {
+      if (detail.getStudent() != null) {
+        add(studentsByArea, detail.getStudent().getArea(), sign);
+      }
+
+      Map<Integer, String> courseNames = new HashMap<>();
+      Set<String> names = new HashSet<>();
+      for (StudentCourse course : detail.getStudentCourseList()) {
+        if (course.getCourseName() != null) {
+          courseNames.put(course.getId(), course.getCourseName());
+          names.add(course.getCourseName());
+        }
+      }
+      names.forEach(name -> add(studentsByCourse, name, sign));
+
+      Set<List<String>> pairs = new HashSet<>();
+      for (StudentApplicationStatus status : detail.getStudentApplicationStatus()) {
+        String name = courseNames.get(status.getStudentCourseId());
+        if (name != null && status.getStatus() != null) {
+          pairs.add(List.of(name, status.getStatus()));
+        }
+      }
+      pairs.forEach(pair -> add(studentsByCourseAndStatus, pair, sign));
+    }
+  }
+}
@@ -0,0 +1,22 @@
+-- 受講生の検索条件（フリガナの前方一致・年齢の範囲・性別）
+CREATE INDEX idx_students_kana_name ON students (kana_name);
+CREATE INDEX idx_students_age ON students (age);
+CREATE INDEX idx_students_sex ON students (sex);
+
+-- 受講生コース情報の検索条件（受講生ID・コース名・受講開始日の範囲）
+CREATE INDEX idx_students_courses_student_id ON students_courses (student_id);
+CREATE INDEX idx_students_courses_course_name ON students_courses (course_name);
+CREATE INDEX idx_students_courses_course_start_at ON students_courses (course_start_at);
+
+-- 申込状況の検索条件（受講生コースID・申込状況）
+CREATE INDEX idx_students_application_status_student_course_id
+   ON students_application_status (student_course_id);
+CREATE INDEX idx_students_application_status_status ON students_application_status (status);
+
+-- 外部キー（受講生コース情報 → 受講生、申込状況 → 受講生コース情報）
+ALTER TABLE students_courses
+   ADD CONSTRAINT fk_students_courses_student_id
+   FOREIGN KEY (student_id) REFERENCES students (id);
+ALTER TABLE students_application_status
+   ADD CONSTRAINT fk_students_application_status_student_course_id
+   FOREIGN KEY (student_course_id) REFERENCES students_courses (id);
@@ -0,0 +1,2 @@
+-- 受講生コース情報の検索条件（受講期間の重なり・受講終了日）
+CREATE INDEX idx_students_courses_course_end_at ON students_courses (course_end_at);
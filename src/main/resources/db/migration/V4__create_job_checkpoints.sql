@@ -0,0 +1,11 @@
+-- バッチ処理の再開位置（処理済みの最後のID）
+CREATE TABLE IF NOT EXISTS job_checkpoints
+(
+   job_name VARCHAR(50) PRIMARY KEY,
+   last_id INT NOT NULL,
+   updated_at TIMESTAMP NOT NULL
+);
+
+-- 再開位置は更新のみで保存するため、バッチ処理ごとに行を作成しておく
+INSERT INTO job_checkpoints (job_name, last_id, updated_at)
+VALUES ('course-expiration', 0, CURRENT_TIMESTAMP);
@@ -4,50 +4,86 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validation;
 import jakarta.validation.Validator;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import raisetech.StudentManagement.data.Student;
 import raisetech.StudentManagement.data.StudentApplicationStatus;
 import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StatusTransitionRequest;
+import raisetech.StudentManagement.domain.StudentCountCondition;
 import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.domain.StudentDetailPage;
+import raisetech.StudentManagement.domain.StudentSearchCondition;
+import raisetech.StudentManagement.domain.StudentStatistics;
 import raisetech.StudentManagement.exception.PracticeException;
+import raisetech.StudentManagement.exception.StudentNotFoundException;
 import raisetech.StudentManagement.service.StudentService;
+import raisetech.StudentManagement.statistics.StudentStatisticsService;
 
 @WebMvcTest(StudentController.class)
+@Import(SimpleMeterRegistry.class)
 class StudentControllerTest {
 
   @Autowired
   private MockMvc mockMvc;
 
+  @Autowired
+  private MeterRegistry meterRegistry;
+
   @MockBean
   private StudentService service;
 
+  @MockBean
+  private StudentStatisticsService statisticsService;
+
   private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
 
+  @BeforeEach
+  void before() {
+    // テストごとにメトリクスを初期化する（コンテキストはテスト間で共有されるため）
+    meterRegistry.clear();
+  }
+
   @Autowired
   private ObjectMapper objectMapper;
 
@@ -59,6 +95,138 @@ class StudentControllerTest {
     verify(service, times(1)).searchStudentList();
   }
 
+  @Test
+  void 受講生詳細の一覧をページ単位で検索すると受講生詳細と次のカーソルが返ってくること()
+      throws Exception {
+    StudentDetailPage page = new StudentDetailPage(
+        List.of(new StudentDetail(getStudent(), getStudentCourses(),
+            getStudentApplicationStatuses())), 1);
+    when(service.searchStudentPage(any(StudentSearchCondition.class), eq(0), eq(1)))
+        .thenReturn(page);
+
+    mockMvc.perform(get("/studentList/page").param("limit", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content[0].student.id").value("1"))
+        .andExpect(jsonPath("$.nextCursor").value(1));
+  }
+
+  @Test
+  void 年齢検索をページ単位で行うと検索条件とカーソルがサービスに渡されること() throws Exception {
+    when(service.searchStudentPage(any(StudentSearchCondition.class), eq(5), eq(100)))
+        .thenReturn(new StudentDetailPage());
+
+    mockMvc.perform(get("/age-range/page")
+            .param("min", "20")
+            .param("max", "29")
+            .param("after", "5"))
+        .andExpect(status().isOk());
+
+    verify(service).searchStudentPage(
+        argThat(condition -> condition.getMinAge() == 20 && condition.getMaxAge() == 29),
+        eq(5), eq(100));
+  }
+
+  @Test
+  void 複合条件検索で指定した条件だけが検索条件としてサービスに渡されること() throws Exception {
+    when(service.searchStudentPage(any(StudentSearchCondition.class), eq(0), eq(50)))
+        .thenReturn(new StudentDetailPage());
+
+    mockMvc.perform(get("/students/search")
+            .param("minAge", "25")
+            .param("maxAge", "35")
+            .param("sex", "女性")
+            .param("area", "東京")
+            .param("courseName", "Javaコース")
+            .param("status", "受講中")
+            .param("courseStartFrom", "2025-04-01")
+            .param("limit", "50"))
+        .andExpect(status().isOk());
+
+    verify(service).searchStudentPage(argThat(condition ->
+        condition.getMinAge() == 25 && condition.getMaxAge() == 35
+            && "女性".equals(condition.getSex()) && "東京".equals(condition.getArea())
+            && "Javaコース".equals(condition.getCourseName())
+            && "受講中".equals(condition.getStatus())
+            && LocalDateTime.of(2025, 4, 1, 0, 0).equals(condition.getCourseStartFrom())
+            && condition.getCourseStartTo() == null && condition.getKanaPrefix() == null),
+        eq(0), eq(50));
+  }
+
+  @Test
+  void 複合条件検索で年齢の下限が上限より大きい場合に例外を発生させること() throws Exception {
+    mockMvc.perform(get("/students/search")
+            .param("minAge", "35")
+            .param("maxAge", "25"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void 人数の集計で同じ項目に複数の値を指定するとリストとしてサービスに渡され人数が返ってくること()
+      throws Exception {
+    when(service.countStudents(any(StudentCountCondition.class))).thenReturn(42L);
+
+    mockMvc.perform(get("/students/count")
+            .param("sex", "男性", "女性")
+            .param("courseName", "Javaコース"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.count").value(42));
+
+    verify(service).countStudents(argThat(condition ->
+        condition.getSexes().equals(List.of("男性", "女性"))
+            && condition.getCourseNames().equals(List.of("Javaコース"))
+            && condition.getAreas().isEmpty() && condition.getStatuses().isEmpty()));
+  }
+
+  @Test
+  void 集計を取得するとコース名と申込状況と地域ごとの人数が返ってくること() throws Exception {
+    when(statisticsService.getStatistics()).thenReturn(new StudentStatistics(
+        Map.of("Javaコース", 2L),
+        Map.of("Javaコース", Map.of("仮申込", 1L, "受講中", 1L)),
+        Map.of("東京", 2L)));
+
+    mockMvc.perform(get("/statistics"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.studentsByCourse['Javaコース']").value(2))
+        .andExpect(jsonPath("$.studentsByCourseAndStatus['Javaコース']['受講中']").value(1))
+        .andExpect(jsonPath("$.studentsByArea['東京']").value(2));
+  }
+
+  @Test
+  void ページ検索で件数の上限を超える値を指定した場合に例外を発生させること() throws Exception {
+    mockMvc.perform(get("/studentList/page").param("limit", "1001"))
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void 受講生詳細の一覧出力で受講生詳細が１行に１件ずつNDJSON形式で出力されること()
+      throws Exception {
+    Student student2 = new Student("2", "山本彩夏", "ヤマモトアヤカ", "アヤ",
+        "aya@example.com", "愛知", 25, "女性", "", false);
+    doAnswer(invocation -> {
+      Consumer<StudentDetail> consumer = invocation.getArgument(0);
+      consumer.accept(new StudentDetail(getStudent(), getStudentCourses(),
+          getStudentApplicationStatuses()));
+      consumer.accept(new StudentDetail(student2, List.of(), List.of()));
+      return null;
+    }).when(service).exportStudentDetails(any());
+
+    MvcResult asyncResult = mockMvc.perform(get("/studentList/export"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+        .andExpect(status().isOk())
+        .andExpect(header().string("Content-Type", MediaType.APPLICATION_NDJSON_VALUE))
+        .andReturn();
+
+    String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+    assertEquals(2, lines.length);
+    assertEquals("1", objectMapper.readTree(lines[0]).at("/student/id").asText());
+    assertEquals("Javaコース",
+        objectMapper.readTree(lines[0]).at("/studentCourseList/0/courseName").asText());
+    assertEquals("2", objectMapper.readTree(lines[1]).at("/student/id").asText());
+  }
+
   @Test
   void 受講生詳細の受講生で適切な値を入力した時に入力チェックに異常が発生しないこと() {
     Student student = new Student();
@@ -161,6 +329,41 @@ class StudentControllerTest {
 
   }
 
+  @Test
+  void 受講生詳細の検索のレスポンスサイズがエンドポイントごとに記録されること() throws Exception {
+    when(service.searchStudent("1")).thenReturn(
+        new StudentDetail(getStudent(), getStudentCourses(), getStudentApplicationStatuses()));
+
+    MvcResult result = mockMvc.perform(get("/student/1"))
+        .andExpect(status().isOk())
+        .andReturn();
+
+    DistributionSummary responseSize = meterRegistry.get("http.server.response.size")
+        .tag("uri", "/student/{id}")
+        .tag("status", "200")
+        .tag("outcome", "SUCCESS")
+        .summary();
+    assertEquals(1, responseSize.count());
+    assertEquals(result.getResponse().getContentAsByteArray().length,
+        responseSize.totalAmount());
+  }
+
+  @Test
+  void 該当する受講生がいない検索のレスポンスはクライアントエラーとして記録されること() throws Exception {
+    when(service.findStudentsByGender("女性"))
+        .thenThrow(new StudentNotFoundException("指定された性別に該当する受講生が見つかりませんでした。"));
+
+    mockMvc.perform(get("/gender-select/女性"))
+        .andExpect(status().isNotFound());
+
+    assertEquals(1, meterRegistry.get("http.server.response.size")
+        .tag("uri", "/gender-select/{sex}")
+        .tag("status", "404")
+        .tag("outcome", "CLIENT_ERROR")
+        .summary()
+        .count());
+  }
+
   @Test
   void 受講生検索をする際に数字でない文字列で検索をしたとき500番エラーを返すこと()
       throws Exception {
@@ -229,6 +432,55 @@ class StudentControllerTest {
         .andExpect(content().json(expectedJson));
   }
 
+  @Test
+  void 受講生の一括登録が成功すること() throws Exception {
+    List<StudentDetail> request = List.of(
+        new StudentDetail(getStudent(), getStudentCourses(), getApplicationStatuses()));
+    when(service.registerStudents(any())).thenReturn(request);
+
+    mockMvc.perform(
+            post("/registerStudents")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request))
+        )
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].student.name").value("田中太郎"))
+        .andExpect(jsonPath("$[0].studentApplicationStatus[0].status").value("仮申込"));
+  }
+
+  @Test
+  void 受講生の一括登録で空のリストを送信した場合に例外が発生すること() throws Exception {
+    mockMvc.perform(
+            post("/registerStudents")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]")
+        )
+        .andExpect(status().isBadRequest());
+  }
+
+  @Test
+  void 申込状況の一括変更を行うと変更した件数が返ってくること() throws Exception {
+    StatusTransitionRequest request = new StatusTransitionRequest("Javaコース", List.of(),
+        "仮申込", "本申込");
+    when(service.transitionStatuses(request)).thenReturn(120);
+
+    mockMvc.perform(put("/applicationStatuses/transition")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.updatedCount").value(120));
+  }
+
+  @Test
+  void 申込状況の一括変更で変更後の申込状況を指定しない場合に例外を発生させること() throws Exception {
+    mockMvc.perform(put("/applicationStatuses/transition")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"courseName\":\"Javaコース\",\"fromStatus\":\"仮申込\"}"))
+        .andExpect(status().isBadRequest());
+
+    verify(service, never()).transitionStatuses(any());
+  }
+
   @Test
   void 受講生情報の更新に成功すること() throws Exception {
     // 前準備（リクエスト用オブジェクトを準備）
@@ -322,13 +574,29 @@ class StudentControllerTest {
   }
 
   @Test
-  void カナ名検索時に全角カタカナ１文字以外をしようして検索をかけると例外が発生すること()
+  void カナ名検索時に複数文字のカタカナで検索ができること() throws Exception {
+    Mockito.when(service.findStudentsByNamePrefix("アイカワ")).thenReturn(List.of());
+
+    mockMvc.perform(get("/starts-with/{prefix}", "アイカワ"))
+        .andExpect(status().isOk());
+
+    verify(service).findStudentsByNamePrefix("アイカワ");
+  }
+
+  @Test
+  void カナ名検索時に全角カタカナ以外をしようして検索をかけると例外が発生すること()
       throws Exception {
     // ひらがななどの無効な文字
     mockMvc.perform(get("/starts-with/{prefix}", "あ"))
         .andExpect(status().isBadRequest());
   }
 
+  @Test
+  void カナ名検索時に21文字以上で検索をかけると例外が発生すること() throws Exception {
+    mockMvc.perform(get("/starts-with/{prefix}", "ア".repeat(21)))
+        .andExpect(status().isBadRequest());
+  }
+
   @Test
   void カナ名検索時に空文字で検索をかけたら例外が発生すること() throws Exception {
     mockMvc.perform(get("/starts-with/{prefix}", " "))
@@ -385,4 +653,39 @@ class StudentControllerTest {
         .andExpect(status().isBadRequest());
   }
 
+  @Test
+  void 受講期間検索で指定した日付が日の始まりと終わりの日時としてサービスに渡されること()
+      throws Exception {
+    Mockito.when(service.findStudentsByCourseActiveRange(
+            LocalDateTime.of(2023, 6, 1, 0, 0), LocalDateTime.of(2023, 6, 30, 23, 59, 59)))
+        .thenReturn(List.of());
+
+    mockMvc.perform(get("/courses/active")
+            .param("from", "2023-06-01")
+            .param("to", "2023-06-30"))
+        .andExpect(status().isOk());
+
+    verify(service).findStudentsByCourseActiveRange(
+        LocalDateTime.of(2023, 6, 1, 0, 0), LocalDateTime.of(2023, 6, 30, 23, 59, 59));
+  }
+
+  @Test
+  void 受講終了日検索で指定した日付が日の始まりの日時としてサービスに渡されること() throws Exception {
+    Mockito.when(service.findStudentsByCourseEndBefore(LocalDateTime.of(2023, 9, 1, 0, 0)))
+        .thenReturn(List.of());
+
+    mockMvc.perform(get("/courses/end-before")
+            .param("date", "2023-09-01"))
+        .andExpect(status().isOk());
+
+    verify(service).findStudentsByCourseEndBefore(LocalDateTime.of(2023, 9, 1, 0, 0));
+  }
+
+  @Test
+  void 受講終了日検索で日付以外を指定した場合に例外を発生させること() throws Exception {
+    mockMvc.perform(get("/courses/end-before")
+            .param("date", "おはよう"))
+        .andExpect(status().isBadRequest());
+  }
+
 }
@@ -128,6 +128,76 @@ class StudentConverterTest {
         converter.convertStudentDetails(studentList, studentCourseList, null));
   }
 
+  @Test
+  void コース情報と申込状況が引数のリストの順序のまま受講生ごとに振り分けられること() {
+    List<Student> studentList = List.of(
+        new Student("2", "山本彩夏", "ヤマモトアヤカ", "アヤ",
+            "aya@example.com", "愛知", 25, "女性", "", false),
+        new Student("1", "田中太郎", "タナカタロウ", "タロ",
+            "taro@example.com", "東京", 35, "男性", "", false));
+
+    StudentCourse course1 = new StudentCourse(7, "1", "AWSコース", null, null);
+    StudentCourse course2 = new StudentCourse(5, "2", "Javaコース", null, null);
+    StudentCourse course3 = new StudentCourse(6, "1", "Javaコース", null, null);
+    List<StudentCourse> studentCourseList = List.of(course1, course2, course3);
+
+    StudentApplicationStatus status1 = new StudentApplicationStatus(1, 6, "仮申込");
+    StudentApplicationStatus status2 = new StudentApplicationStatus(2, 5, "本申込");
+    StudentApplicationStatus status3 = new StudentApplicationStatus(3, 7, "受講中");
+    StudentApplicationStatus status4 = new StudentApplicationStatus(4, 99, "受講終了");
+    List<StudentApplicationStatus> studentApplicationStatusList = List.of(status1, status2,
+        status3, status4);
+
+    List<StudentDetail> result = converter.convertStudentDetails(studentList, studentCourseList,
+        studentApplicationStatusList);
+
+    assertEquals("2", result.get(0).getStudent().getId());
+    assertEquals(List.of(course2), result.get(0).getStudentCourseList());
+    assertEquals(List.of(status2), result.get(0).getStudentApplicationStatus());
+
+    assertEquals("1", result.get(1).getStudent().getId());
+    assertEquals(List.of(course1, course3), result.get(1).getStudentCourseList());
+    assertEquals(List.of(status1, status3), result.get(1).getStudentApplicationStatus());
+  }
+
+  @Test
+  void 大量の受講生とコース情報と申込状況を渡しても受講生ごとに正しく組み立てられること() {
+    int studentCount = 50_000;
+    int coursesPerStudent = 3;
+
+    List<Student> studentList = new ArrayList<>(studentCount);
+    List<StudentCourse> studentCourseList = new ArrayList<>(studentCount * coursesPerStudent);
+    List<StudentApplicationStatus> studentApplicationStatusList = new ArrayList<>(
+        studentCount * coursesPerStudent);
+
+    int courseId = 1;
+    for (int i = 1; i <= studentCount; i++) {
+      String studentId = String.valueOf(i);
+      studentList.add(new Student(studentId, "受講生" + i, "ジュコウセイ", "ジュコ",
+          "student" + i + "@example.com", "東京", 20 + i % 40, "男性", "", false));
+      for (int j = 0; j < coursesPerStudent; j++) {
+        studentCourseList.add(new StudentCourse(courseId, studentId, "Javaコース", null, null));
+        studentApplicationStatusList.add(new StudentApplicationStatus(courseId, courseId, "仮申込"));
+        courseId++;
+      }
+    }
+
+    List<StudentDetail> result = converter.convertStudentDetails(studentList, studentCourseList,
+        studentApplicationStatusList);
+
+    // 受講生の順序を保ち、各受講生にはその受講生のコース情報と申込状況だけが紐づくこと
+    assertEquals(studentCount, result.size());
+    for (int i = 0; i < studentCount; i++) {
+      StudentDetail detail = result.get(i);
+      assertEquals(String.valueOf(i + 1), detail.getStudent().getId());
+      List<StudentCourse> expectedCourses = studentCourseList.subList(i * coursesPerStudent,
+          (i + 1) * coursesPerStudent);
+      assertEquals(expectedCourses, detail.getStudentCourseList());
+      assertEquals(studentApplicationStatusList.subList(i * coursesPerStudent,
+          (i + 1) * coursesPerStudent), detail.getStudentApplicationStatus());
+    }
+  }
+
   //以下は、メソッド抽出を行なったメソッドです！
   //DTOクラスのコンストラクタの呼び出しおよび、そのリスト化を行なっております！
   private List<Student> getStudents() {
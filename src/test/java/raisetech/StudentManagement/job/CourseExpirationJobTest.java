@@ -0,0 +1,128 @@
+package raisetech.StudentManagement.job;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.event.EventListener;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import raisetech.StudentManagement.data.StudentApplicationStatus;
+import raisetech.StudentManagement.domain.StudentChangedEvent;
+import raisetech.StudentManagement.repository.JobCheckpointRepository;
+import raisetech.StudentManagement.repository.StudentRepository;
+
+@SpringBootTest(properties = "student-management.course-expiration.chunk-size=2")
+@AutoConfigureTestDatabase
+@DirtiesContext(classMode = ClassMode.AFTER_EACH_TEST_METHOD)
+class CourseExpirationJobTest {
+
+  /**
+   * テストデータのうち受講終了日がこの日時より前のコースは1～8（受講中なのは3, 6。1, 5は仮申込、2, 8は本申込）
+   */
+  private static final LocalDateTime BEFORE = LocalDateTime.of(2024, 3, 15, 0, 0);
+
+  @Autowired
+  private CourseExpirationJob sut;
+
+  @Autowired
+  private StudentRepository repository;
+
+  @Autowired
+  private JobCheckpointRepository checkpointRepository;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Autowired
+  private CheckpointAdvancer checkpointAdvancer;
+
+  @Test
+  void 受講終了日を過ぎたコースの受講中の申込状況だけがチャンクごとに受講終了に変更されチェックポイントが0に戻ること() {
+    assertEquals(2, sut.run(BEFORE));
+
+    assertThat(repository.findStatusesByCourseIds(List.of(3, 4, 6, 7)))
+        .extracting(StudentApplicationStatus::getStatus)
+        .containsOnly("受講終了");
+    assertThat(repository.findStatusesByCourseIds(List.of(1, 2, 5, 8, 9, 10)))
+        .extracting(StudentApplicationStatus::getStatus)
+        .containsExactlyInAnyOrder("仮申込", "本申込", "仮申込", "本申込", "本申込", "受講中");
+    assertEquals(0, checkpointRepository.findLastId(CourseExpirationJob.JOB_NAME));
+    assertEquals(2.0,
+        meterRegistry.get("student.course.expiration.statuses").counter().count());
+    // 対象の１チャンクと、対象がないことを確認する最後の１回
+    assertEquals(2, meterRegistry.get("student.course.expiration.chunk").timer().count());
+
+    assertEquals(0, sut.run(BEFORE));
+  }
+
+  @Test
+  void チェックポイントが保存されている場合はその続きから処理されること() {
+    checkpointRepository.saveLastId(CourseExpirationJob.JOB_NAME, 3);
+
+    assertEquals(1, sut.run(BEFORE));
+
+    assertThat(repository.findStatusesByCourseIds(List.of(3, 6)))
+        .extracting(StudentApplicationStatus::getStatus)
+        .containsExactlyInAnyOrder("受講中", "受講終了");
+    assertEquals(0, checkpointRepository.findLastId(CourseExpirationJob.JOB_NAME));
+  }
+
+  @Test
+  void 別のインスタンスがチェックポイントを進めていた場合は処理を中断しチェックポイントを戻さないこと() {
+    checkpointAdvancer.advanceTo = 8;
+
+    assertEquals(2, sut.run(BEFORE));
+
+    assertEquals(8, checkpointRepository.findLastId(CourseExpirationJob.JOB_NAME));
+    // 進められたチェックポイントを読んだ２チャンク目は何も処理せずに中断する
+    assertEquals(2, meterRegistry.get("student.course.expiration.chunk").timer().count());
+  }
+
+  @Test
+  void チャンクの件数が範囲外の場合は例外が発生すること() {
+    assertThrows(IllegalArgumentException.class,
+        () -> new CourseExpirationJob(null, null, null, null, null, null, true, 0));
+    assertThrows(IllegalArgumentException.class,
+        () -> new CourseExpirationJob(null, null, null, null, null, null, true,
+            CourseExpirationJob.MAX_CHUNK_SIZE + 1));
+  }
+
+  /**
+   * チャンクのトランザクション内でチェックポイントを書き換え、別のインスタンスが処理を進めた状態を再現します。
+   */
+  @TestConfiguration
+  static class CheckpointAdvancerConfig {
+
+    @Bean
+    CheckpointAdvancer checkpointAdvancer(JobCheckpointRepository checkpointRepository) {
+      return new CheckpointAdvancer(checkpointRepository);
+    }
+  }
+
+  static class CheckpointAdvancer {
+
+    private final JobCheckpointRepository checkpointRepository;
+    private Integer advanceTo;
+
+    CheckpointAdvancer(JobCheckpointRepository checkpointRepository) {
+      this.checkpointRepository = checkpointRepository;
+    }
+
+    @EventListener
+    void onStudentChanged(StudentChangedEvent event) {
+      if (advanceTo != null) {
+        checkpointRepository.saveLastId(CourseExpirationJob.JOB_NAME, advanceTo);
+      }
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package raisetech.StudentManagement.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.repository.StudentRepository;
+
+@MybatisTest(properties = "student-management.mybatis.slow-query-threshold=0ms")
+@Import({MapperMetricsInterceptor.class, SimpleMeterRegistry.class})
+class MapperMetricsInterceptorTest {
+
+  @Autowired
+  private StudentRepository repository;
+
+  @Autowired
+  private MeterRegistry registry;
+
+  @Test
+  void 検索の実行時間と取得件数がステートメントIDごとに記録されること() {
+    repository.search();
+    repository.search();
+    repository.findStudentsByIds(List.of("1", "2"));
+
+    assertEquals(2, registry.get("mybatis.statement").tag("statement", "search")
+        .tag("type", "SELECT").tag("outcome", "success").timer().count());
+    assertEquals(10, registry.get("mybatis.statement.rows").tag("statement", "search")
+        .summary().totalAmount());
+    assertEquals(2, registry.get("mybatis.statement.rows").tag("statement", "findStudentsByIds")
+        .summary().totalAmount());
+  }
+
+  @Test
+  void 更新系のステートメントは更新件数が記録されること() {
+    Student student = repository.searchStudent("1");
+    student.setRemark("更新");
+
+    repository.updateStudent(student);
+
+    assertEquals(1, registry.get("mybatis.statement").tag("statement", "updateStudent")
+        .tag("type", "UPDATE").timer().count());
+    assertEquals(1, registry.get("mybatis.statement.rows").tag("statement", "updateStudent")
+        .summary().totalAmount());
+  }
+
+  @Test
+  void 閾値以上の時間がかかったステートメントはSQLとともにログに出力されること() {
+    // コンソールの文字コードに左右されないよう、ログはアペンダーで直接受け取る
+    Logger logger = (Logger) LoggerFactory.getLogger(MapperMetricsInterceptor.class);
+    ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    appender.start();
+    logger.addAppender(appender);
+    try {
+      repository.findStudentsByGender("女性");
+    } finally {
+      logger.detachAppender(appender);
+    }
+
+    assertThat(appender.list)
+        .extracting(ILoggingEvent::getFormattedMessage)
+        .anySatisfy(message -> assertThat(message).startsWith("スロークエリ")
+            .contains("StudentRepository.findStudentsByGender")
+            .contains("WHERE sex = ?"));
+  }
+}
@@ -3,9 +3,25 @@ package raisetech.StudentManagement.repository;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
+import java.io.IOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.stream.Collectors;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
 import org.junit.jupiter.api.Test;
 import org.mybatis.spring.boot.test.autoconfigure.MybatisTest;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +29,11 @@ import org.springframework.dao.DataIntegrityViolationException;
 import raisetech.StudentManagement.data.Student;
 import raisetech.StudentManagement.data.StudentApplicationStatus;
 import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StatusTransitionRequest;
+import raisetech.StudentManagement.domain.StudentCountCondition;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.domain.StudentGroupCount;
+import raisetech.StudentManagement.domain.StudentSearchCondition;
 
 @MybatisTest
 class StudentRepositoryTest {
@@ -20,12 +41,148 @@ class StudentRepositoryTest {
   @Autowired
   private StudentRepository sut;
 
+  @Autowired
+  private SqlSession sqlSession;
+
   @Test
   void 受講生の全件検索が行えること() {
     List<Student> actual = sut.search();
     assertThat(actual.size()).isEqualTo(5);
   }
 
+  @Test
+  void 受講生詳細の全件検索で受講生ごとにコース情報と申込状況がまとめて取得できること() {
+    List<StudentDetail> actual = sut.searchStudentDetailList();
+
+    assertThat(actual).hasSize(5);
+    assertThat(actual).extracting(detail -> detail.getStudent().getId())
+        .containsExactly("1", "2", "3", "4", "5");
+
+    StudentDetail first = actual.getFirst();
+    assertEquals("山田太郎", first.getStudent().getName());
+    assertEquals("ヤマダタロウ", first.getStudent().getKanaName());
+    assertThat(first.getStudentCourseList()).extracting(StudentCourse::getId)
+        .containsExactly(1, 2, 10);
+    assertThat(first.getStudentCourseList()).allMatch(course -> "1".equals(course.getStudentId()));
+    assertThat(first.getStudentApplicationStatus()).extracting(StudentApplicationStatus::getStatus)
+        .containsExactly("仮申込", "本申込", "受講中");
+
+    assertThat(actual).flatExtracting(StudentDetail::getStudentCourseList).hasSize(10);
+    assertThat(actual).flatExtracting(StudentDetail::getStudentApplicationStatus).hasSize(10);
+  }
+
+  @Test
+  void 受講生詳細をカーソルで読み出すと全件検索と同じ内容が受講生ID順に１件ずつ取得できること()
+      throws IOException {
+    List<StudentDetail> actual = new ArrayList<>();
+    try (Cursor<StudentDetail> cursor = sut.streamStudentDetailList()) {
+      cursor.forEach(actual::add);
+    }
+
+    assertThat(actual).extracting(detail -> detail.getStudent().getId())
+        .containsExactly("1", "2", "3", "4", "5");
+    assertThat(actual).isEqualTo(sut.searchStudentDetailList());
+  }
+
+  @Test
+  void 指定したIDの受講生詳細だけが全件検索と同じ内容で取得できること() {
+    List<StudentDetail> actual = sut.findStudentDetailsByIds(List.of("3", "1"));
+
+    List<StudentDetail> all = sut.searchStudentDetailList();
+    assertThat(actual).containsExactly(all.get(0), all.get(2));
+  }
+
+  @Test
+  void 行ロックを取って指定したIDの受講生詳細が全件検索と同じ内容で取得できること() {
+    StudentDetail actual = sut.findStudentDetailForUpdate("3");
+
+    assertEquals(sut.searchStudentDetailList().get(2), actual);
+    assertNull(sut.findStudentDetailForUpdate("9999"));
+  }
+
+  @Test
+  void コース情報を持たない受講生の受講生詳細はコース情報と申込状況が空のリストになること() {
+    Student student = new Student(null, "高橋五郎", "タカハシゴロウ", "ゴロー", "goro@example.com",
+        "福岡", 33, "男性", "", false);
+    sut.registerStudent(student);
+
+    StudentDetail actual = sut.searchStudentDetailList().getLast();
+
+    assertEquals(student.getId(), actual.getStudent().getId());
+    assertThat(actual.getStudentCourseList()).isEmpty();
+    assertThat(actual.getStudentApplicationStatus()).isEmpty();
+  }
+
+  @Test
+  void 受講生のページ検索で指定した受講生IDより後ろの受講生が指定件数まで受講生ID順に取得できること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+
+    List<StudentDetail> firstPage = sut.findStudentDetailPage(condition, 0, 2);
+    List<StudentDetail> secondPage = sut.findStudentDetailPage(condition,
+        Integer.parseInt(firstPage.getLast().getStudent().getId()), 2);
+
+    assertThat(firstPage).extracting(detail -> detail.getStudent().getId())
+        .containsExactly("1", "2");
+    assertThat(secondPage).extracting(detail -> detail.getStudent().getId())
+        .containsExactly("3", "4");
+    // コース単位の条件がない場合はすべてのコースと申込状況が設定される
+    assertThat(firstPage.getFirst().getStudentCourseList()).extracting(StudentCourse::getId)
+        .containsExactly(1, 2, 10);
+    assertThat(firstPage.getFirst().getStudentApplicationStatus()).hasSize(3);
+  }
+
+  @Test
+  void 受講生のページ検索で受講生の条件とコース単位の条件が組み合わせて適用されること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setSex("女性");
+    condition.setCourseName("Javaコース");
+    condition.setStatus("受講終了");
+
+    List<StudentDetail> actual = sut.findStudentDetailPage(condition, 0, 10);
+
+    assertThat(actual).extracting(detail -> detail.getStudent().getId())
+        .containsExactly("4");
+    assertThat(actual.getFirst().getStudentCourseList()).extracting(StudentCourse::getId)
+        .containsExactly(7);
+    assertThat(actual.getFirst().getStudentApplicationStatus())
+        .extracting(StudentApplicationStatus::getStatus)
+        .containsExactly("受講終了");
+  }
+
+  @Test
+  void 受講生のページ検索で受講開始日と年齢の条件が適用されること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setMinAge(20);
+    condition.setMaxAge(29);
+    condition.setCourseStartFrom(LocalDateTime.of(2023, 7, 1, 0, 0));
+    condition.setCourseStartTo(LocalDateTime.of(2023, 12, 31, 23, 59));
+
+    List<StudentDetail> actual = sut.findStudentDetailPage(condition, 0, 10);
+
+    assertThat(actual).extracting(detail -> detail.getStudent().getId())
+        .containsExactly("3", "4");
+    assertThat(actual).flatExtracting(StudentDetail::getStudentCourseList)
+        .extracting(StudentCourse::getId)
+        .containsExactly(4, 5, 6, 7, 8);
+  }
+
+  @Test
+  void 受講生のページ検索で地域とコース名の条件が適用されること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setArea("東京");
+    condition.setCourseName("AWSコース");
+
+    List<StudentDetail> actual = sut.findStudentDetailPage(condition, 0, 10);
+
+    assertThat(actual).extracting(detail -> detail.getStudent().getId())
+        .containsExactly("1");
+    assertThat(actual.getFirst().getStudentCourseList()).extracting(StudentCourse::getId)
+        .containsExactly(2);
+    assertThat(actual.getFirst().getStudentApplicationStatus())
+        .extracting(StudentApplicationStatus::getStudentCourseId)
+        .containsExactly(2);
+  }
+
   @Test
   void 受講生の登録が行えること() {
     Student student = new Student();
@@ -44,6 +201,57 @@ class StudentRepositoryTest {
     assertThat(actual.size()).isEqualTo(6);
   }
 
+  @Test
+  void 複数の受講生とコース情報と申込状況を一括登録すると採番されたIDがそれぞれに設定されること() {
+    Student student1 = new Student(null, "江並公史", "エナミコウジ", "エナミ", "enami@example.com",
+        "奈良県", 30, "男性", "", false);
+    Student student2 = new Student(null, "高橋五郎", "タカハシゴロウ", "ゴロー", "goro@example.com",
+        "福岡", 33, "男性", "", false);
+
+    sut.registerStudents(List.of(student1, student2));
+
+    assertThat(student1.getId()).isNotNull();
+    assertThat(student2.getId()).isNotNull().isNotEqualTo(student1.getId());
+    assertThat(sut.search()).hasSize(7);
+
+    StudentCourse course1 = new StudentCourse(null, student1.getId(), "Javaコース",
+        LocalDateTime.of(2024, 5, 1, 9, 0), LocalDateTime.of(2025, 5, 1, 9, 0));
+    StudentCourse course2 = new StudentCourse(null, student2.getId(), "AWSコース",
+        LocalDateTime.of(2024, 5, 1, 9, 0), LocalDateTime.of(2025, 5, 1, 9, 0));
+    sut.registerStudentCourses(List.of(course1, course2));
+
+    assertThat(course1.getId()).isNotNull();
+    assertThat(course2.getId()).isNotNull();
+    assertThat(sut.searchStudentCourse(student2.getId())).extracting(StudentCourse::getCourseName)
+        .containsExactly("AWSコース");
+
+    StudentApplicationStatus status1 = new StudentApplicationStatus(null, course1.getId(),
+        "仮申込");
+    StudentApplicationStatus status2 = new StudentApplicationStatus(null, course2.getId(),
+        "仮申込");
+    sut.registerApplicationStatuses(List.of(status1, status2));
+
+    assertThat(status1.getId()).isNotNull();
+    assertThat(status2.getId()).isNotNull();
+    assertThat(sut.searchStudentApplicationStatus()).hasSize(12);
+  }
+
+  @Test
+  void 一括登録を複数回に分けて行うと全件が登録され重複しないIDが採番されること() {
+    int count = 2_000;
+    int chunkSize = 500;
+
+    List<Student> students = createStudents(count, "bulk");
+    for (int from = 0; from < count; from += chunkSize) {
+      sut.registerStudents(students.subList(from, Math.min(from + chunkSize, count)));
+    }
+
+    assertThat(sut.search()).hasSize(5 + count);
+    assertThat(students).extracting(Student::getId)
+        .doesNotContainNull()
+        .doesNotHaveDuplicates();
+  }
+
   @Test
   void 受講生の単体検索ができること() {
     Student student = getStudent();
@@ -142,12 +350,45 @@ class StudentRepositoryTest {
 
   }
 
+  @Test
+  void 複数の受講生コース情報のコース名を１回でまとめて更新でき対象外のコースは変わらないこと() {
+    StudentCourse first = new StudentCourse();
+    first.setId(1);
+    first.setCourseName("数学コース");
+    StudentCourse second = new StudentCourse();
+    second.setId(3);
+    second.setCourseName("英語コース");
+
+    sut.updateStudentCourses(List.of(first, second));
+
+    Map<Integer, String> actual = sut.searchStudentCourseList().stream()
+        .collect(Collectors.toMap(StudentCourse::getId, StudentCourse::getCourseName));
+    assertThat(actual).containsEntry(1, "数学コース")
+        .containsEntry(2, "AWSコース")
+        .containsEntry(3, "英語コース");
+  }
+
   @Test
   void すべての受講生の申し込んでいるコースの申し込み状況が全件検索できること() {
     List<StudentApplicationStatus> actual = sut.searchStudentApplicationStatus();
     assertThat(actual.size()).isEqualTo(10);
   }
 
+  @Test
+  void 指定したコースIDの申込状況のみが検索できること() {
+    List<StudentApplicationStatus> actual = sut.findStatusesByCourseIds(List.of(1, 2, 10));
+
+    assertThat(actual).extracting(StudentApplicationStatus::getStudentCourseId)
+        .containsExactlyInAnyOrder(1, 2, 10);
+  }
+
+  @Test
+  void 存在しないコースIDで申込状況を検索した場合は空のリストが返ること() {
+    List<StudentApplicationStatus> actual = sut.findStatusesByCourseIds(List.of(999, 888));
+
+    assertThat(actual).isEmpty();
+  }
+
   @Test
   void 受講生のコース申込状況の登録ができること() {
     StudentApplicationStatus studentApplicationStatus = new StudentApplicationStatus();
@@ -176,6 +417,60 @@ class StudentRepositoryTest {
     assertEquals("受講中", studentApplicationStatus.getStatus());
   }
 
+  @Test
+  void 複数の申込状況を１回でまとめて更新でき対象外の申込状況は変わらないこと() {
+    sut.updateApplicationStatuses(List.of(
+        new StudentApplicationStatus(1, 1, "本申込"),
+        new StudentApplicationStatus(2, 2, "受講中")));
+
+    Map<Integer, String> actual = sut.findStatusesByCourseIds(List.of(1, 2, 3)).stream()
+        .collect(Collectors.toMap(StudentApplicationStatus::getStudentCourseId,
+            StudentApplicationStatus::getStatus));
+    assertThat(actual).containsEntry(1, "本申込")
+        .containsEntry(2, "受講中")
+        .containsEntry(3, "受講中");
+  }
+
+  @Test
+  void 受講生の検索条件ごとの検索でフリガナと年齢と性別のインデックスが使われること() throws SQLException {
+    assertThat(explain("findStudentsByNamePrefix", Map.of("prefix", "ア")))
+        .containsIgnoringCase("idx_students_kana_name");
+    assertThat(explain("findStudentsByAgeRange", Map.of("minAge", 20, "maxAge", 29)))
+        .containsIgnoringCase("idx_students_age");
+    assertThat(explain("findStudentsByGender", Map.of("sex", "女性")))
+        .containsIgnoringCase("idx_students_sex");
+  }
+
+  @Test
+  void 受講生コース情報の検索で受講生IDとコース名と受講開始日と受講終了日のインデックスが使われること()
+      throws SQLException {
+    assertThat(explain("searchStudentCourse", Map.of("studentId", "1")))
+        .containsIgnoringCase("idx_students_courses_student_id");
+    assertThat(explain("findCoursesByStudentIds", Map.of("studentIds", List.of("1", "3"))))
+        .containsIgnoringCase("idx_students_courses_student_id");
+    assertThat(explain("findStudentsByCourse", Map.of("courseName", "Javaコース")))
+        .containsIgnoringCase("idx_students_courses_course_name");
+    assertThat(explain("findStudentDetailsByCourseName", Map.of("courseName", "Javaコース")))
+        .containsIgnoringCase("idx_students_courses_course_name");
+    assertThat(explain("findCoursesByStartDateRange",
+        Map.of("from", LocalDateTime.of(2023, 4, 1, 0, 0), "to",
+            LocalDateTime.of(2023, 9, 30, 23, 59))))
+        .containsIgnoringCase("idx_students_courses_course_start_at");
+    assertThat(explain("findStudentDetailsByCourseEndBefore",
+        Map.of("before", LocalDateTime.of(2023, 9, 1, 0, 0))))
+        .containsIgnoringCase("idx_students_courses_course_end_at");
+  }
+
+  @Test
+  void 申込状況の検索で受講生コースIDと申込状況のインデックスが使われること() throws SQLException {
+    assertThat(explain("findStatusesByCourseIds", Map.of("courseIds", List.of(1, 2))))
+        .containsIgnoringCase("idx_students_application_status_student_course_id");
+    assertThat(explain("findStudentsByStatus", Map.of("status", "受講中")))
+        .containsIgnoringCase("idx_students_application_status_status");
+    assertThat(explain("findStudentDetailsByStatus", Map.of("status", "受講中")))
+        .containsIgnoringCase("idx_students_application_status_status");
+  }
+
   //以下は、「異常系」のテストです！
   @Test
   void 存在しない受講生IDを用いて検索をかけたときnullが返ってくること() {
@@ -321,6 +616,43 @@ class StudentRepositoryTest {
 
   //以下は、メソッド抽出を行なったメソッドです！　
   //DTOクラスのインスタンス生成を行なっております！
+
+  /**
+   * マッパーのSQLにパラメータの値を埋め込んでEXPLAINを実行し、実行計画を文字列で返します。
+   */
+  private String explain(String statementId, Map<String, Object> parameter) throws SQLException {
+    Configuration configuration = sqlSession.getConfiguration();
+    BoundSql boundSql = configuration
+        .getMappedStatement(StudentRepository.class.getName() + "." + statementId)
+        .getBoundSql(parameter);
+    MetaObject metaObject = configuration.newMetaObject(parameter);
+
+    String sql = boundSql.getSql();
+    for (ParameterMapping mapping : boundSql.getParameterMappings()) {
+      String property = mapping.getProperty();
+      Object value = boundSql.hasAdditionalParameter(property)
+          ? boundSql.getAdditionalParameter(property)
+          : metaObject.getValue(property);
+      sql = sql.replaceFirst("\\?", Matcher.quoteReplacement(toSqlLiteral(value)));
+    }
+
+    try (Statement statement = sqlSession.getConnection().createStatement();
+        ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+      resultSet.next();
+      return resultSet.getString(1);
+    }
+  }
+
+  private String toSqlLiteral(Object value) {
+    if (value instanceof Number) {
+      return value.toString();
+    }
+    if (value instanceof LocalDateTime dateTime) {
+      return "TIMESTAMP '" + Timestamp.valueOf(dateTime) + "'";
+    }
+    return "'" + value.toString().replace("'", "''") + "'";
+  }
+
   private Student getStudent() {
     Student student = new Student();
     student.setId("1");
@@ -336,6 +668,15 @@ class StudentRepositoryTest {
     return student;
   }
 
+  private List<Student> createStudents(int count, String emailPrefix) {
+    List<Student> students = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      students.add(new Student(null, "受講生" + i, "ジュコウセイ", "ジュコ",
+          emailPrefix + i + "@example.com", "東京", 20 + i % 40, "男性", "", false));
+    }
+    return students;
+  }
+
   private StudentCourse getStudentCourse(Integer number, String courseName) {
     StudentCourse studentCourse = new StudentCourse();
     studentCourse.setId(number);
@@ -389,6 +730,92 @@ class StudentRepositoryTest {
     assertThat(result).isEmpty();
   }
 
+  @Test
+  void 同じ項目の値はOR_異なる項目はANDとして受講生の人数が数えられること() {
+    StudentCountCondition condition = new StudentCountCondition();
+    assertEquals(5, sut.countStudents(condition));
+
+    condition.setAreas(List.of("東京", "大阪"));
+    assertEquals(2, sut.countStudents(condition));
+
+    condition.setSexes(List.of("男性"));
+    condition.setCourseNames(List.of("AWSコース"));
+    assertEquals(1, sut.countStudents(condition));
+  }
+
+  @Test
+  void 人数の集計でコース名と申込状況の条件は同じコースで両方を満たす受講生だけが数えられること() {
+    StudentCountCondition condition = new StudentCountCondition();
+    condition.setCourseNames(List.of("Javaコース"));
+    condition.setStatuses(List.of("受講終了"));
+    assertEquals(1, sut.countStudents(condition));
+
+    // 山田太郎はJavaコース（仮申込）と受講中のWeb制作コースを持つが、受講中のJavaコースは持たない
+    condition.setStatuses(List.of("受講中"));
+    assertEquals(0, sut.countStudents(condition));
+  }
+
+  @Test
+  void コース名と申込状況と地域ごとに受講生の人数が集計されること() {
+    assertThat(sut.countStudentsByCourseName()).contains(
+        new StudentGroupCount("Javaコース", null, 2),
+        new StudentGroupCount("デザインコース", null, 2));
+
+    assertThat(sut.countStudentsByCourseNameAndStatus()).contains(
+        new StudentGroupCount("Javaコース", "仮申込", 1),
+        new StudentGroupCount("Javaコース", "受講終了", 1));
+
+    assertThat(sut.countStudentsByArea())
+        .hasSize(5)
+        .contains(new StudentGroupCount("東京", null, 1));
+  }
+
+  @Test
+  void 申込状況の一括変更で対象のコースの変更前の申込状況だけがまとめて変更されること() {
+    StatusTransitionRequest request = new StatusTransitionRequest("AWSコース", List.of(),
+        "本申込", "受講中");
+
+    assertEquals(2, sut.transitionApplicationStatuses(request));
+
+    assertThat(sut.findStatusesByCourseIds(List.of(2, 8, 9)))
+        .extracting(StudentApplicationStatus::getStatus)
+        .containsExactlyInAnyOrder("受講中", "本申込", "受講中");
+  }
+
+  @Test
+  void 申込状況の一括変更でコースIDを指定した場合は指定したコースだけが変更されること() {
+    StatusTransitionRequest request = new StatusTransitionRequest(null, List.of(1, 2, 5),
+        "仮申込", "本申込");
+
+    assertEquals(2, sut.transitionApplicationStatuses(request));
+
+    assertThat(sut.findStatusesByCourseIds(List.of(1, 2, 5)))
+        .extracting(StudentApplicationStatus::getStatus)
+        .containsOnly("本申込");
+  }
+
+  @Test
+  void 受講終了日を過ぎて受講中のコースが指定したIDより後ろからID順に取得できること() {
+    LocalDateTime before = LocalDateTime.of(2024, 3, 15, 0, 0);
+
+    // 受講終了日を過ぎたコース1～8のうち受講中は3と6（仮申込・本申込・受講終了のコースは対象外）
+    assertThat(sut.findExpiredCourses(before, 0, 1))
+        .extracting(StudentCourse::getId)
+        .containsExactly(3);
+    assertThat(sut.findExpiredCourses(before, 3, 10))
+        .extracting(StudentCourse::getId)
+        .containsExactly(6);
+  }
+
+  @Test
+  void 指定したコースの受講中の申込状況だけがまとめて受講終了に変更されること() {
+    assertEquals(1, sut.expireApplicationStatuses(List.of(1, 4, 6)));
+
+    assertThat(sut.findStatusesByCourseIds(List.of(1, 4, 6)))
+        .extracting(StudentApplicationStatus::getStatus)
+        .containsExactlyInAnyOrder("仮申込", "受講終了", "受講終了");
+  }
+
   @Test
   void 性別が男性の受講生を取得できること() {
     List<Student> result = sut.findStudentsByGender("男性");
@@ -420,6 +847,32 @@ class StudentRepositoryTest {
     assertThat(result).isEmpty();
   }
 
+  @Test
+  void コース名で受講生詳細を検索すると受講生が重複なく指定したコースの情報とともに取得できること() {
+    StudentCourse secondJava = new StudentCourse(null, "1", "Javaコース",
+        LocalDateTime.of(2024, 4, 1, 9, 0), LocalDateTime.of(2025, 4, 1, 9, 0));
+    sut.registerStudentCourse(secondJava);
+
+    List<StudentDetail> result = sut.findStudentDetailsByCourseName("Javaコース");
+
+    assertThat(result).extracting(detail -> detail.getStudent().getId())
+        .containsExactly("1", "4");
+    StudentDetail first = result.getFirst();
+    assertEquals("山田太郎", first.getStudent().getName());
+    assertThat(first.getStudentCourseList()).extracting(StudentCourse::getId)
+        .containsExactly(1, secondJava.getId());
+    assertThat(first.getStudentApplicationStatus()).extracting(StudentApplicationStatus::getStatus)
+        .containsExactly("仮申込");
+    assertThat(result.getLast().getStudentApplicationStatus())
+        .extracting(StudentApplicationStatus::getStatus)
+        .containsExactly("受講終了");
+  }
+
+  @Test
+  void 該当するコース名が存在しない場合は受講生詳細の空リストが返ること() {
+    assertThat(sut.findStudentDetailsByCourseName("Pythonコース")).isEmpty();
+  }
+
   @Test
   void 開始日が2023年4月1日から2025年9月30日の間にあるコースを取得できること() {
     LocalDateTime from = LocalDateTime.of(2023, 4, 1, 0, 0);
@@ -444,6 +897,32 @@ class StudentRepositoryTest {
     assertThat(result).isEmpty();
   }
 
+  @Test
+  void 受講期間が指定期間と重なるコースを持つ受講生が該当するコースと申込状況とともに取得できること() {
+    List<StudentDetail> result = sut.findStudentDetailsByCourseActiveRange(
+        LocalDateTime.of(2023, 8, 15, 0, 0), LocalDateTime.of(2023, 8, 20, 23, 59, 59));
+
+    assertThat(result).extracting(detail -> detail.getStudent().getId())
+        .containsExactly("2", "3");
+    assertThat(result).flatExtracting(StudentDetail::getStudentCourseList)
+        .extracting(StudentCourse::getId)
+        .containsExactly(3, 4, 5);
+    assertThat(result).flatExtracting(StudentDetail::getStudentApplicationStatus)
+        .extracting(StudentApplicationStatus::getStudentCourseId)
+        .containsExactly(3, 4, 5);
+  }
+
+  @Test
+  void 受講終了日が指定日時より前のコースを持つ受講生が該当するコースとともに取得できること() {
+    List<StudentDetail> result = sut.findStudentDetailsByCourseEndBefore(
+        LocalDateTime.of(2023, 9, 1, 0, 0));
+
+    assertThat(result).extracting(detail -> detail.getStudent().getId())
+        .containsExactly("1");
+    assertThat(result.getFirst().getStudentCourseList()).extracting(StudentCourse::getId)
+        .containsExactly(1, 2);
+  }
+
   @Test
   void 指定した複数のIDに対応する受講生を取得できること() {
     List<String> ids = List.of("1", "2");
@@ -477,4 +956,22 @@ class StudentRepositoryTest {
 
     assertThat(result).isEmpty();
   }
+
+  @Test
+  void 申込状況で受講生詳細を検索すると該当するコースと申込状況のみが受講生ID順に取得できること() {
+    List<StudentDetail> result = sut.findStudentDetailsByStatus("本申込");
+
+    assertThat(result).extracting(detail -> detail.getStudent().getId())
+        .containsExactly("1", "4", "5");
+    assertThat(result).flatExtracting(StudentDetail::getStudentCourseList)
+        .extracting(StudentCourse::getId)
+        .containsExactly(2, 8, 9);
+    assertThat(result).flatExtracting(StudentDetail::getStudentApplicationStatus)
+        .allMatch(status -> "本申込".equals(status.getStatus()));
+  }
+
+  @Test
+  void 存在しない申込状況で受講生詳細を検索すると空リストが返ること() {
+    assertThat(sut.findStudentDetailsByStatus("存在しない申込状況")).isEmpty();
+  }
 }
@@ -0,0 +1,160 @@
+package raisetech.StudentManagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import raisetech.StudentManagement.config.CacheConfig;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.repository.StudentRepository;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+class StudentServiceCacheTest {
+
+  @Autowired
+  private StudentService sut;
+
+  @Autowired
+  private StudentRepository repository;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @BeforeEach
+  void before() {
+    cacheManager.getCache(CacheConfig.STUDENT_DETAIL_CACHE).clear();
+  }
+
+  @Test
+  void 同じ受講生IDの２回目の検索はキャッシュから返りヒット数とミス数が記録されること() {
+    String id = registerStudent("キャッシュ").getId();
+    double hits = cacheGets("hit");
+    double misses = cacheGets("miss");
+
+    StudentDetail first = sut.searchStudent(id);
+    StudentDetail second = sut.searchStudent(id);
+
+    assertSame(first, second);
+    assertEquals(hits + 1, cacheGets("hit"));
+    assertEquals(misses + 1, cacheGets("miss"));
+    assertThat(meterRegistry.find("cache.evictions")
+        .tag("cache", CacheConfig.STUDENT_DETAIL_CACHE).functionCounter()).isNotNull();
+  }
+
+  @Test
+  void 受講生情報を更新するとキャッシュが削除され次の検索で更新後の内容が返ること() {
+    Student student = registerStudent("更新前");
+    StudentDetail cached = sut.searchStudent(student.getId());
+
+    sut.updateStudent(createUpdateDetail(student, "更新後"));
+
+    StudentDetail actual = sut.searchStudent(student.getId());
+    assertNotSame(cached, actual);
+    assertEquals("更新後", actual.getStudent().getRemark());
+  }
+
+  @Test
+  void 先頭に0を付けた受講生IDの検索結果も更新時にキャッシュから削除されること() {
+    Student student = registerStudent("更新前");
+    String paddedId = "00" + student.getId();
+    StudentDetail cached = sut.searchStudent(paddedId);
+    assertSame(cached, sut.searchStudent(student.getId()));
+
+    sut.updateStudent(createUpdateDetail(student, "更新後"));
+
+    assertEquals("更新後", sut.searchStudent(paddedId).getStudent().getRemark());
+  }
+
+  @Test
+  void 存在しない受講生IDの検索結果は登録後にキャッシュから削除されること() {
+    String nextId = String.valueOf(repository.search().stream()
+        .mapToInt(student -> Integer.parseInt(student.getId()))
+        .max()
+        .orElse(0) + 1);
+    assertThat(sut.searchStudent(nextId)).isNull();
+
+    Student student = registerStudent("新規");
+
+    assertEquals(nextId, student.getId());
+    assertThat(sut.searchStudent(nextId)).isNotNull();
+  }
+
+  @Test
+  void 同じ受講生IDで検索と更新が同時に行われてもキャッシュに古い内容が残らないこと() throws Exception {
+    Student student = registerStudent("競合");
+    int rounds = 100;
+    int readers = 8;
+
+    ExecutorService executor = Executors.newFixedThreadPool(readers + 1);
+    try {
+      for (int round = 0; round < rounds; round++) {
+        String remark = "更新" + round;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < readers; i++) {
+          futures.add(executor.submit(() -> {
+            start.await();
+            return sut.searchStudent(student.getId());
+          }));
+        }
+        futures.add(executor.submit(() -> {
+          start.await();
+          sut.updateStudent(createUpdateDetail(student, remark));
+          return null;
+        }));
+
+        start.countDown();
+        for (Future<?> future : futures) {
+          future.get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(remark, sut.searchStudent(student.getId()).getStudent().getRemark());
+        assertEquals(remark, repository.searchStudent(student.getId()).getRemark());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private double cacheGets(String result) {
+    return meterRegistry.get("cache.gets")
+        .tag("cache", CacheConfig.STUDENT_DETAIL_CACHE)
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+
+  private Student registerStudent(String remark) {
+    Student student = new Student(null, "高橋五郎", "タカハシゴロウ", "ゴロー", "goro@example.com",
+        "福岡", 33, "男性", remark, false);
+    sut.registerStudent(new StudentDetail(student, new ArrayList<>(), new ArrayList<>()));
+    return student;
+  }
+
+  private StudentDetail createUpdateDetail(Student student, String remark) {
+    Student updated = new Student(student.getId(), student.getName(), student.getKanaName(),
+        student.getNickname(), student.getEmail(), student.getArea(), student.getAge(),
+        student.getSex(), remark, student.isDeleted());
+    return new StudentDetail(updated, new ArrayList<>(), null);
+  }
+}
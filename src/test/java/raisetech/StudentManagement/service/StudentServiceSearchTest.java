@@ -0,0 +1,72 @@
+package raisetech.StudentManagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import raisetech.StudentManagement.data.StudentApplicationStatus;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentDetailPage;
+import raisetech.StudentManagement.domain.StudentSearchCondition;
+
+@SpringBootTest
+@AutoConfigureTestDatabase
+class StudentServiceSearchTest {
+
+  @Autowired
+  private StudentService sut;
+
+  @Autowired
+  private MeterRegistry meterRegistry;
+
+  @Test
+  void 複数の条件を組み合わせたページ検索はクエリ１回で該当する受講生詳細だけを返すこと() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setMinAge(25);
+    condition.setMaxAge(35);
+    condition.setSex("女性");
+    condition.setArea("福岡");
+    condition.setCourseName("Javaコース");
+    condition.setStatus("受講終了");
+    long before = statementCount();
+
+    StudentDetailPage actual = sut.searchStudentPage(condition, 0, 10);
+
+    assertEquals(1, statementCount() - before);
+    assertThat(actual.getContent()).extracting(detail -> detail.getStudent().getId())
+        .containsExactly("4");
+    assertThat(actual.getContent().getFirst().getStudentCourseList())
+        .extracting(StudentCourse::getCourseName)
+        .containsExactly("Javaコース");
+    assertThat(actual.getContent().getFirst().getStudentApplicationStatus())
+        .extracting(StudentApplicationStatus::getStatus)
+        .containsExactly("受講終了");
+    assertThat(actual.getNextCursor()).isNull();
+  }
+
+  @Test
+  void 次のページがある場合もクエリ１回で取得し次のカーソルが設定されること() {
+    long before = statementCount();
+
+    StudentDetailPage actual = sut.searchStudentPage(new StudentSearchCondition(), 0, 2);
+
+    assertEquals(1, statementCount() - before);
+    assertThat(actual.getContent()).extracting(detail -> detail.getStudent().getId())
+        .containsExactly("1", "2");
+    assertThat(actual.getNextCursor()).isEqualTo(2);
+  }
+
+  /**
+   * これまでに実行されたマッパーのステートメントの総数を返します。
+   */
+  private long statementCount() {
+    return meterRegistry.find("mybatis.statement").timers().stream()
+        .mapToLong(Timer::count)
+        .sum();
+  }
+}
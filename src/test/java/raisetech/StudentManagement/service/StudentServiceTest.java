@@ -8,7 +8,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.argThat;
-import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -21,18 +21,29 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import raisetech.StudentManagement.controller.converter.StudentConverter;
 import raisetech.StudentManagement.data.Student;
 import raisetech.StudentManagement.data.StudentApplicationStatus;
 import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StatusTransitionRequest;
+import raisetech.StudentManagement.domain.StudentChangedEvent;
+import raisetech.StudentManagement.domain.StudentCountCondition;
 import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.domain.StudentDetailPage;
+import raisetech.StudentManagement.domain.StudentSearchCondition;
 import raisetech.StudentManagement.exception.StudentNotFoundException;
 import raisetech.StudentManagement.repository.StudentRepository;
+import raisetech.StudentManagement.snapshot.StudentSnapshot;
+import raisetech.StudentManagement.snapshot.StudentSnapshotService;
 
 @ExtendWith(MockitoExtension.class)
 class StudentServiceTest {
@@ -43,30 +54,42 @@ class StudentServiceTest {
   @Mock
   private StudentConverter converter;
 
+  @Mock
+  private StudentSnapshotService snapshot;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  private ExecutorService queryExecutor;
+
   private StudentService sut;
 
   @BeforeEach
   void before() {
-    sut = new StudentService(repository, converter);
+    queryExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    sut = new StudentService(repository, converter, queryExecutor, snapshot,
+        eventPublisher);
+  }
+
+  @AfterEach
+  void after() {
+    queryExecutor.close();
   }
 
   @Test
-  void 受講生詳細の一覧検索_リポジトリとコンバーターの処理が適切に呼び出せていること() {
+  void 受講生詳細の一覧検索_結合クエリ１回で受講生詳細が取得できていること() {
     //事前準備
-    List<Student> studentList = new ArrayList<>();
-    List<StudentCourse> studentCourseList = new ArrayList<>();
-    List<StudentApplicationStatus> studentApplicationStatusList = new ArrayList<>();
+    List<StudentDetail> expected = List.of(
+        new StudentDetail(getStudent(), getStudentCourses(), getStudentApplicationStatuses()));
 
-    when(repository.search()).thenReturn(studentList);
-    when(repository.searchStudentCourseList()).thenReturn(studentCourseList);
-    when(repository.searchStudentApplicationStatus()).thenReturn(studentApplicationStatusList);
+    when(repository.searchStudentDetailList()).thenReturn(expected);
 
-    sut.searchStudentList();
+    List<StudentDetail> actual = sut.searchStudentList();
 
-    verify(repository, times(1)).search();
-    verify(repository, times(1)).searchStudentCourseList();
-    verify(converter, times(1)).convertStudentDetails(studentList, studentCourseList,
-        studentApplicationStatusList);
+    assertEquals(expected, actual);
+    verify(repository, times(1)).searchStudentDetailList();
+    verifyNoMoreInteractions(repository);
+    verifyNoInteractions(converter);
   }
 
   @Test
@@ -79,18 +102,92 @@ class StudentServiceTest {
 
     when(repository.searchStudent("777")).thenReturn(student);
     when(repository.searchStudentCourse(student.getId())).thenReturn(studentCourses);
-    when(repository.searchStudentApplicationStatus()).thenReturn(studentApplicationStatuses);
+    when(repository.findStatusesByCourseIds(List.of(99))).thenReturn(studentApplicationStatuses);
 
     StudentDetail expected = new StudentDetail(student, studentCourses, studentApplicationStatuses);
     StudentDetail actual = sut.searchStudent("777");
 
     verify(repository, times(1)).searchStudent("777");
     verify(repository, times(1)).searchStudentCourse(student.getId());
-    verify(repository, times(1)).searchStudentApplicationStatus();
+    verify(repository, times(1)).findStatusesByCourseIds(List.of(99));
+    verify(repository, never()).searchStudentApplicationStatus();
 
     assertEquals(expected, actual);
   }
 
+  @Test
+  void 受講生詳細検索＿複数のコースがあっても申込状況の検索は１回だけ行われること() {
+    Student student = getStudent();
+    List<StudentCourse> studentCourses = List.of(
+        new StudentCourse(99, "777", "Javaコース", null, null),
+        new StudentCourse(100, "777", "AWSコース", null, null),
+        new StudentCourse(101, "777", "英会話コース", null, null),
+        new StudentCourse(102, "777", "Pythonコース", null, null));
+    List<StudentApplicationStatus> statuses = List.of(
+        new StudentApplicationStatus(1, 99, "仮申込"),
+        new StudentApplicationStatus(2, 102, "受講中"));
+
+    when(repository.searchStudent("777")).thenReturn(student);
+    when(repository.searchStudentCourse("777")).thenReturn(studentCourses);
+    when(repository.findStatusesByCourseIds(List.of(99, 100, 101, 102))).thenReturn(statuses);
+
+    StudentDetail actual = sut.searchStudent("777");
+
+    assertEquals(new StudentDetail(student, studentCourses, statuses), actual);
+    verify(repository, times(1)).findStatusesByCourseIds(anyList());
+    verify(repository, never()).searchStudentApplicationStatus();
+  }
+
+  @Test
+  void 受講生詳細検索＿コース情報がない場合は申込状況の検索を行わないこと() {
+    Student student = getStudent();
+
+    when(repository.searchStudent("777")).thenReturn(student);
+    when(repository.searchStudentCourse("777")).thenReturn(new ArrayList<>());
+
+    StudentDetail actual = sut.searchStudent("777");
+
+    assertEquals(student, actual.getStudent());
+    assertThat(actual.getStudentCourseList()).isEmpty();
+    assertThat(actual.getStudentApplicationStatus()).isEmpty();
+    verify(repository, never()).findStatusesByCourseIds(anyList());
+  }
+
+  @Test
+  void 受講生詳細検索＿受講生とコース情報の検索が呼び出し元のスレッドで順に実行されること() {
+    Student student = getStudent();
+    List<StudentCourse> studentCourses = getStudentCourses();
+    Thread caller = Thread.currentThread();
+    List<Thread> queryThreads = new ArrayList<>();
+
+    when(repository.searchStudent("777")).thenAnswer(invocation -> {
+      queryThreads.add(Thread.currentThread());
+      return student;
+    });
+    when(repository.searchStudentCourse("777")).thenAnswer(invocation -> {
+      queryThreads.add(Thread.currentThread());
+      return studentCourses;
+    });
+
+    StudentDetail actual = sut.searchStudent("777");
+
+    assertEquals(student, actual.getStudent());
+    assertEquals(studentCourses, actual.getStudentCourseList());
+    assertThat(queryThreads).containsExactly(caller, caller);
+  }
+
+  @Test
+  void 受講生詳細検索＿存在しない受講生IDの場合はnullを返し申込状況を検索しないこと() {
+    when(repository.searchStudent("9999")).thenReturn(null);
+
+    StudentDetail actual = sut.searchStudent("9999");
+
+    assertNull(actual);
+    verify(repository).searchStudent("9999");
+    verify(repository, never()).searchStudentCourse("9999");
+    verify(repository, never()).findStatusesByCourseIds(anyList());
+  }
+
   @Test
   void 受講生登録＿初期情報設定と登録情報が正しく返されること() {
     Student student = getStudent();
@@ -120,6 +217,73 @@ class StudentServiceTest {
     assertEquals(99, actualStatus.getStudentCourseId());
     assertEquals("仮申込", actualStatus.getStatus());
     assertNull(actualStatus.getId()); // 自動採番なのでnullのまま
+    verify(eventPublisher).publishEvent(argThat((Object event) ->
+        event instanceof StudentChangedEvent changed
+            && changed.getStudentIds().equals(List.of("777"))
+            && changed.getCurrentDetails().equals(List.of(actual))));
+  }
+
+  @Test
+  void 受講生一括登録＿採番されたIDが紐づけられ申込状況が仮申込で登録されること() {
+    Student student1 = getStudent();
+    student1.setId(null);
+    Student student2 = new Student(null, "山本彩夏", "ヤマモトアヤカ", "アヤ",
+        "aya@example.com", "東京", 25, "女性", "", false);
+    StudentCourse course1 = new StudentCourse(null, null, "Javaコース", null, null);
+    StudentCourse course2 = new StudentCourse(null, null, "AWSコース", null, null);
+    StudentCourse course3 = new StudentCourse(null, null, "英会話コース", null, null);
+    List<StudentDetail> request = List.of(
+        new StudentDetail(student1, List.of(course1, course2), new ArrayList<>()),
+        new StudentDetail(student2, List.of(course3), new ArrayList<>()));
+
+    doAnswer(invocation -> {
+      List<Student> students = invocation.getArgument(0);
+      for (int i = 0; i < students.size(); i++) {
+        students.get(i).setId(String.valueOf(100 + i));
+      }
+      return null;
+    }).when(repository).registerStudents(anyList());
+    doAnswer(invocation -> {
+      List<StudentCourse> courses = invocation.getArgument(0);
+      for (int i = 0; i < courses.size(); i++) {
+        courses.get(i).setId(200 + i);
+      }
+      return null;
+    }).when(repository).registerStudentCourses(anyList());
+
+    List<StudentDetail> actual = sut.registerStudents(request);
+
+    verify(repository, times(1)).registerStudents(List.of(student1, student2));
+    verify(repository, times(1)).registerStudentCourses(List.of(course1, course2, course3));
+    verify(repository, times(1)).registerApplicationStatuses(
+        argThat(statuses -> statuses.size() == 3
+            && statuses.stream().allMatch(status -> status.getStatus().equals("仮申込"))));
+    verify(repository, never()).registerStudent(any());
+    verify(repository, never()).registerStudentCourse(any());
+    verify(repository, never()).registerApplicationStatus(any());
+
+    assertEquals("100", course1.getStudentId());
+    assertEquals("100", course2.getStudentId());
+    assertEquals("101", course3.getStudentId());
+    assertThat(actual.get(0).getStudentApplicationStatus())
+        .extracting(StudentApplicationStatus::getStudentCourseId).containsExactly(200, 201);
+    assertThat(actual.get(1).getStudentApplicationStatus())
+        .extracting(StudentApplicationStatus::getStudentCourseId).containsExactly(202);
+  }
+
+  @Test
+  void 受講生一括登録＿件数が多い場合は分割して登録されること() {
+    List<StudentDetail> request = new ArrayList<>();
+    for (int i = 0; i <= StudentService.BULK_INSERT_CHUNK_SIZE; i++) {
+      request.add(new StudentDetail(new Student(), new ArrayList<>(), new ArrayList<>()));
+    }
+
+    sut.registerStudents(request);
+
+    verify(repository, times(2)).registerStudents(
+        argThat(students -> students.size() <= StudentService.BULK_INSERT_CHUNK_SIZE));
+    verify(repository, never()).registerStudentCourses(anyList());
+    verify(repository, never()).registerApplicationStatuses(anyList());
   }
 
   @Test
@@ -143,8 +307,130 @@ class StudentServiceTest {
     sut.updateStudent(studentDetail);
 
     verify(repository, times(1)).updateStudent(student);
-    verify(repository, times(1)).updateStudentCourse(studentCourse);
-    verify(repository, times(1)).updateApplicationStatus(studentApplicationStatus);
+    verify(repository, times(1)).updateStudentCourses(List.of(studentCourse));
+    verify(repository, times(1)).updateApplicationStatuses(List.of(studentApplicationStatus));
+    // 登録済みの受講生詳細が取得できない場合は更新後の状態が分からない
+    verify(eventPublisher).publishEvent(argThat((Object event) ->
+        event instanceof StudentChangedEvent changed
+            && changed.getStudentIds().equals(List.of("777"))
+            && changed.getCurrentDetails() == null));
+  }
+
+  @Test
+  void スナップショットが有効な場合はリポジトリを呼び出さずスナップショットから検索すること() {
+    StudentDetail studentDetail = new StudentDetail(getStudent(), getStudentCourses(),
+        getStudentApplicationStatuses());
+    when(snapshot.isEnabled()).thenReturn(true);
+    when(snapshot.current()).thenReturn(StudentSnapshot.of(List.of(studentDetail)));
+
+    assertEquals(studentDetail, sut.searchStudent("777"));
+    assertEquals(List.of(studentDetail), sut.findStudentsByNamePrefix("タナ"));
+    assertEquals(List.of(studentDetail), sut.findStudentsByCourse("Javaコース"));
+    assertThatThrownBy(() -> sut.findStudentsByAgeRange(30, 40))
+        .isInstanceOf(StudentNotFoundException.class)
+        .hasMessage("指定された年齢範囲に該当する受講生が見つかりませんでした。");
+    verifyNoInteractions(repository);
+    verifyNoInteractions(converter);
+  }
+
+  @Test
+  void 受講生情報の更新＿変更のない行は更新されず変更された行だけがまとめて更新されること() {
+    Student student = getStudent();
+    StudentCourse unchangedCourse = new StudentCourse(1, student.getId(), "Javaコース",
+        LocalDateTime.of(2025, 4, 1, 0, 0, 0), LocalDateTime.of(2026, 3, 31, 0, 0, 0));
+    StudentCourse storedCourse = new StudentCourse(2, student.getId(), "AWSコース",
+        LocalDateTime.of(2025, 4, 1, 0, 0, 0), LocalDateTime.of(2026, 3, 31, 0, 0, 0));
+    StudentApplicationStatus unchangedStatus = new StudentApplicationStatus(10, 1, "仮申込");
+    StudentApplicationStatus storedStatus = new StudentApplicationStatus(20, 2, "仮申込");
+
+    StudentDetail stored = new StudentDetail(student, List.of(unchangedCourse, storedCourse),
+        List.of(unchangedStatus, storedStatus));
+    when(repository.findStudentDetailForUpdate(student.getId())).thenReturn(stored);
+
+    StudentCourse changedCourse = new StudentCourse(2, student.getId(), "デザインコース",
+        storedCourse.getCourseStartAt(), storedCourse.getCourseEndAt());
+    StudentApplicationStatus changedStatus = new StudentApplicationStatus(20, 2, "本申込");
+    StudentDetail studentDetail = new StudentDetail(student,
+        new ArrayList<>(List.of(unchangedCourse, changedCourse)),
+        new ArrayList<>(List.of(unchangedStatus, changedStatus)));
+
+    sut.updateStudent(studentDetail);
+
+    verify(repository, never()).updateStudent(any());
+    verify(repository, times(1)).updateStudentCourses(List.of(changedCourse));
+    verify(repository, times(1)).updateApplicationStatuses(List.of(changedStatus));
+    verify(repository, never()).updateStudentCourse(any());
+    verify(repository, never()).updateApplicationStatus(any());
+    verify(eventPublisher).publishEvent(argThat((Object event) ->
+        event instanceof StudentChangedEvent changed
+            && changed.getPreviousDetails().equals(List.of(stored))
+            && changed.getCurrentDetails().equals(List.of(new StudentDetail(student,
+            List.of(unchangedCourse, changedCourse), List.of(unchangedStatus, changedStatus))))));
+    assertEquals("AWSコース", storedCourse.getCourseName());
+  }
+
+  @Test
+  void 受講生情報の更新＿変更がない場合は更新処理が呼び出されないこと() {
+    Student student = getStudent();
+    StudentCourse studentCourse = new StudentCourse(1, student.getId(), "Javaコース",
+        LocalDateTime.of(2025, 4, 1, 0, 0, 0), LocalDateTime.of(2026, 3, 31, 0, 0, 0));
+    StudentApplicationStatus status = new StudentApplicationStatus(10, 1, "仮申込");
+
+    when(repository.findStudentDetailForUpdate(student.getId())).thenReturn(
+        new StudentDetail(student, List.of(studentCourse), List.of(status)));
+
+    sut.updateStudent(new StudentDetail(student, new ArrayList<>(List.of(studentCourse)),
+        new ArrayList<>(List.of(status))));
+
+    verify(repository, never()).updateStudent(any());
+    verify(repository, never()).updateStudentCourses(any());
+    verify(repository, never()).updateApplicationStatuses(any());
+  }
+
+  @Test
+  void 申込状況の一括変更＿１回のUPDATEだけで変更され変更の内容を含むイベントが発行されること() {
+    StatusTransitionRequest request = new StatusTransitionRequest("Javaコース", List.of(),
+        "仮申込", "本申込");
+    when(repository.transitionApplicationStatuses(request)).thenReturn(1);
+
+    assertEquals(1, sut.transitionStatuses(request));
+
+    verify(repository, times(1)).transitionApplicationStatuses(request);
+    verifyNoMoreInteractions(repository);
+    verify(eventPublisher).publishEvent(argThat((Object event) ->
+        event instanceof StudentChangedEvent changed
+            && changed.getStudentIds().isEmpty()
+            && changed.getCurrentDetails() == null
+            && changed.getStatusTransition() == request));
+  }
+
+  @Test
+  void 申込状況の一括変更＿変更された申込状況がない場合はイベントが発行されないこと() {
+    StatusTransitionRequest request = new StatusTransitionRequest(null, List.of(5, 6),
+        "本申込", "受講中");
+    when(repository.transitionApplicationStatuses(request)).thenReturn(0);
+
+    assertEquals(0, sut.transitionStatuses(request));
+
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  void 申込状況の一括変更＿申込状況を戻す変更や段階を飛ばす変更やコースの指定がない場合は例外が発生すること() {
+    assertThatThrownBy(() -> sut.transitionStatuses(
+        new StatusTransitionRequest("Javaコース", List.of(), "受講中", "仮申込")))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> sut.transitionStatuses(
+        new StatusTransitionRequest("Javaコース", List.of(), "仮申込", "受講終了")))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> sut.transitionStatuses(
+        new StatusTransitionRequest(null, List.of(), "仮申込", "本申込")))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> sut.transitionStatuses(
+        new StatusTransitionRequest("Javaコース", List.of(), "仮申込", "キャンセル")))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    verifyNoInteractions(repository);
   }
 
   @Test
@@ -199,17 +485,48 @@ class StudentServiceTest {
     List<StudentDetail> expectedDetails = List.of(mock(StudentDetail.class));
 
     when(repository.findStudentsByNamePrefix(prefix)).thenReturn(students);
-    when(repository.searchStudentCourseList()).thenReturn(courses);
-    when(repository.searchStudentApplicationStatus()).thenReturn(statuses);
+    when(repository.findCoursesByStudentIds(List.of("1"))).thenReturn(courses);
+    when(repository.findStatusesByCourseIds(List.of(1))).thenReturn(statuses);
     when(converter.convertStudentDetails(students, courses, statuses)).thenReturn(expectedDetails);
 
     List<StudentDetail> result = sut.findStudentsByNamePrefix(prefix);
 
     assertThat(result).isEqualTo(expectedDetails);
     verify(repository).findStudentsByNamePrefix(prefix);
+    verify(repository).findCoursesByStudentIds(List.of("1"));
+    verify(repository).findStatusesByCourseIds(List.of(1));
+    verifyNoMoreInteractions(repository);
     verify(converter).convertStudentDetails(students, courses, statuses);
   }
 
+  @Test
+  void 検索結果の受講生が多い場合はコース情報と申込状況を分割して検索すること() {
+    int studentCount = StudentService.IN_CLAUSE_CHUNK_SIZE + 1;
+    List<Student> students = new ArrayList<>();
+    List<StudentCourse> courses = new ArrayList<>();
+    for (int i = 1; i <= studentCount; i++) {
+      students.add(new Student(String.valueOf(i), "受講生" + i, "ジュコウセイ", "ジュコ",
+          "student" + i + "@example.com", "東京", 25, "男性", "", false));
+      courses.add(new StudentCourse(i, String.valueOf(i), "Javaコース", null, null));
+    }
+
+    when(repository.findStudentsByGender("男性")).thenReturn(students);
+    when(repository.findCoursesByStudentIds(anyList()))
+        .thenReturn(courses.subList(0, StudentService.IN_CLAUSE_CHUNK_SIZE))
+        .thenReturn(courses.subList(StudentService.IN_CLAUSE_CHUNK_SIZE, studentCount));
+    when(repository.findStatusesByCourseIds(anyList())).thenReturn(List.of());
+
+    sut.findStudentsByGender("男性");
+
+    verify(repository, times(2)).findCoursesByStudentIds(
+        argThat(ids -> ids.size() <= StudentService.IN_CLAUSE_CHUNK_SIZE));
+    verify(repository, times(2)).findStatusesByCourseIds(
+        argThat(ids -> ids.size() <= StudentService.IN_CLAUSE_CHUNK_SIZE));
+    verify(converter).convertStudentDetails(students, courses, List.of());
+    verify(repository, never()).searchStudentCourseList();
+    verify(repository, never()).searchStudentApplicationStatus();
+  }
+
   @Test
   void 該当する受講生が存在しない場合は例外を発生させること() {
     String prefix = "ン";
@@ -236,14 +553,17 @@ class StudentServiceTest {
     List<StudentDetail> expectedDetails = List.of(mock(StudentDetail.class));
 
     when(repository.findStudentsByAgeRange(minAge, maxAge)).thenReturn(students);
-    when(repository.searchStudentCourseList()).thenReturn(courses);
-    when(repository.searchStudentApplicationStatus()).thenReturn(statuses);
+    when(repository.findCoursesByStudentIds(List.of("1"))).thenReturn(courses);
+    when(repository.findStatusesByCourseIds(List.of(1))).thenReturn(statuses);
     when(converter.convertStudentDetails(students, courses, statuses)).thenReturn(expectedDetails);
 
     List<StudentDetail> result = sut.findStudentsByAgeRange(minAge, maxAge);
 
     assertThat(result).isEqualTo(expectedDetails);
     verify(repository).findStudentsByAgeRange(minAge, maxAge);
+    verify(repository).findCoursesByStudentIds(List.of("1"));
+    verify(repository).findStatusesByCourseIds(List.of(1));
+    verifyNoMoreInteractions(repository);
     verify(converter).convertStudentDetails(students, courses, statuses);
   }
 
@@ -272,8 +592,8 @@ class StudentServiceTest {
         new StudentDetail(getStudent(), mockCourses, mockStatuses));
 
     when(repository.findStudentsByGender(gender)).thenReturn(mockStudents);
-    when(repository.searchStudentCourseList()).thenReturn(mockCourses);
-    when(repository.searchStudentApplicationStatus()).thenReturn(mockStatuses);
+    when(repository.findCoursesByStudentIds(List.of("777"))).thenReturn(mockCourses);
+    when(repository.findStatusesByCourseIds(List.of(99))).thenReturn(mockStatuses);
     when(converter.convertStudentDetails(mockStudents, mockCourses, mockStatuses)).thenReturn(
         expectedDetails);
 
@@ -282,8 +602,9 @@ class StudentServiceTest {
     assertEquals(expectedDetails, actualDetails);
 
     verify(repository).findStudentsByGender(gender);
-    verify(repository).searchStudentCourseList();
-    verify(repository).searchStudentApplicationStatus();
+    verify(repository).findCoursesByStudentIds(List.of("777"));
+    verify(repository).findStatusesByCourseIds(List.of(99));
+    verifyNoMoreInteractions(repository);
     verify(converter).convertStudentDetails(mockStudents, mockCourses, mockStatuses);
   }
 
@@ -291,38 +612,21 @@ class StudentServiceTest {
   void コース名で検索をして該当受講生データがある場合受講生詳細が返されること() {
     String courseName = "Javaコース";
 
-    Student student1 = getStudent();
-    Student student2 = new Student("2", "山本彩夏", "ヤマモトアヤカ", "アヤ",
-        "aya@example.com", "東京", 25, "女性", "", false);
-
-    StudentCourse course1 = new StudentCourse(99, "777", "Javaコース",
+    StudentCourse course = new StudentCourse(99, "777", "Javaコース",
         LocalDateTime.of(2025, 4, 1, 0, 0, 0),
         LocalDateTime.of(2026, 3, 31, 0, 0, 0));
-    StudentCourse course2 = new StudentCourse(100, "2", "AWSコース",
-        LocalDateTime.of(2025, 5, 1, 0, 0, 0),
-        LocalDateTime.of(2026, 4, 30, 0, 0, 0));
-
-    List<Student> allStudents = List.of(student1, student2);
-    List<StudentCourse> courseList = List.of(course1, course2);
-    List<StudentApplicationStatus> statusList = List.of(
-        new StudentApplicationStatus(1, 99, "受講中"),
-        new StudentApplicationStatus(2, 100, "受講終了")
-    );
-    List<StudentDetail> expectedDetails = List.of(new StudentDetail());
+    List<StudentDetail> expectedDetails = List.of(
+        new StudentDetail(getStudent(), new ArrayList<>(List.of(course)),
+            new ArrayList<>(List.of(new StudentApplicationStatus(1, 99, "受講中")))));
 
-    when(repository.search()).thenReturn(allStudents);
-    when(repository.findStudentsByCourse(courseName)).thenReturn(courseList);
-    when(repository.searchStudentApplicationStatus()).thenReturn(statusList);
-    when(converter.convertStudentDetails(anyList(), eq(courseList), eq(statusList)))
-        .thenReturn(expectedDetails);
+    when(repository.findStudentDetailsByCourseName(courseName)).thenReturn(expectedDetails);
 
     List<StudentDetail> result = sut.findStudentsByCourse(courseName);
 
     assertEquals(expectedDetails, result);
-    verify(repository).search();
-    verify(repository).findStudentsByCourse(courseName);
-    verify(repository).searchStudentApplicationStatus();
-    verify(converter).convertStudentDetails(anyList(), eq(courseList), eq(statusList));
+    verify(repository).findStudentDetailsByCourseName(courseName);
+    verifyNoMoreInteractions(repository);
+    verifyNoInteractions(converter);
   }
 
   @Test
@@ -342,15 +646,15 @@ class StudentServiceTest {
   void コース検索結果が空だった場合に例外が発生すること() {
     String courseName = "AWSコース";
 
-    when(repository.search()).thenReturn(List.of(getStudent()));
-    when(repository.findStudentsByCourse(courseName)).thenReturn(Collections.emptyList());
+    when(repository.findStudentDetailsByCourseName(courseName))
+        .thenReturn(Collections.emptyList());
 
     StudentNotFoundException exception = assertThrows(StudentNotFoundException.class, () -> {
       sut.findStudentsByCourse(courseName);
     });
 
     assertEquals("指定されたコースに所属する受講生が見つかりません。", exception.getMessage());
-    verify(repository).findStudentsByCourse(courseName);
+    verify(repository).findStudentDetailsByCourseName(courseName);
     verifyNoMoreInteractions(repository);
     verifyNoInteractions(converter);
   }
@@ -359,15 +663,14 @@ class StudentServiceTest {
   void リポジトリからコース情報がnullで返された場合に例外が発生すること() {
     String courseName = "英会話コース";
 
-    when(repository.findStudentsByCourse(courseName)).thenReturn(null);
+    when(repository.findStudentDetailsByCourseName(courseName)).thenReturn(null);
 
     StudentNotFoundException exception = assertThrows(StudentNotFoundException.class, () -> {
       sut.findStudentsByCourse(courseName);
     });
 
     assertEquals("指定されたコースに所属する受講生が見つかりません。", exception.getMessage());
-    verify(repository).findStudentsByCourse(courseName);
-    verify(repository).search();
+    verify(repository).findStudentDetailsByCourseName(courseName);
     verifyNoMoreInteractions(repository);
     verifyNoInteractions(converter);
   }
@@ -396,7 +699,7 @@ class StudentServiceTest {
 
     when(repository.findCoursesByStartDateRange(from, to)).thenReturn(filteredCourses);
     when(repository.findStudentsByIds(List.of("1", "2"))).thenReturn(students);
-    when(repository.searchStudentApplicationStatus()).thenReturn(statuses);
+    when(repository.findStatusesByCourseIds(List.of(1, 2))).thenReturn(statuses);
     when(converter.convertStudentDetails(students, filteredCourses, statuses)).thenReturn(
         expectedDetails);
 
@@ -405,7 +708,8 @@ class StudentServiceTest {
     assertEquals(expectedDetails, result);
     verify(repository).findCoursesByStartDateRange(from, to);
     verify(repository).findStudentsByIds(List.of("1", "2"));
-    verify(repository).searchStudentApplicationStatus();
+    verify(repository).findStatusesByCourseIds(List.of(1, 2));
+    verify(repository, never()).searchStudentApplicationStatus();
     verify(converter).convertStudentDetails(students, filteredCourses, statuses);
   }
 
@@ -445,6 +749,28 @@ class StudentServiceTest {
     verifyNoInteractions(converter);
   }
 
+  @Test
+  void 受講期間検索でリポジトリの結合クエリの結果をそのまま返すこと() {
+    LocalDateTime from = LocalDateTime.of(2025, 4, 1, 0, 0);
+    LocalDateTime to = LocalDateTime.of(2025, 4, 30, 23, 59, 59);
+    List<StudentDetail> expected = List.of(
+        new StudentDetail(getStudent(), getStudentCourses(), getStudentApplicationStatuses()));
+    when(repository.findStudentDetailsByCourseActiveRange(from, to)).thenReturn(expected);
+
+    assertEquals(expected, sut.findStudentsByCourseActiveRange(from, to));
+    verifyNoInteractions(converter);
+  }
+
+  @Test
+  void 受講終了日検索で該当する受講生がいない場合は例外が発生すること() {
+    LocalDateTime before = LocalDateTime.of(2020, 1, 1, 0, 0);
+    when(repository.findStudentDetailsByCourseEndBefore(before)).thenReturn(List.of());
+
+    assertThatThrownBy(() -> sut.findStudentsByCourseEndBefore(before))
+        .isInstanceOf(StudentNotFoundException.class)
+        .hasMessage("指定された日より前に受講が終了する受講生は見つかりませんでした。");
+  }
+
   @Test
   void 存在する申込状況で検索をかけて該当データがある場合その受講生詳細を返すこと() {
     String status = "受講中";
@@ -453,31 +779,119 @@ class StudentServiceTest {
         "taro@example.com", "東京", 25, "男性", "", false);
     Student student2 = new Student("2", "山本彩夏", "ヤマモトアヤカ", "アヤ",
         "aya@example.com", "東京", 25, "女性", "", false);
-    List<Student> allStudents = List.of(student1, student2);
+    List<StudentDetail> expectedDetails = List.of(
+        new StudentDetail(student1,
+            new ArrayList<>(List.of(new StudentCourse(101, "1", "Javaコース", null, null))),
+            new ArrayList<>(List.of(new StudentApplicationStatus(1, 101, status)))),
+        new StudentDetail(student2,
+            new ArrayList<>(List.of(new StudentCourse(102, "2", "AWSコース", null, null))),
+            new ArrayList<>(List.of(new StudentApplicationStatus(2, 102, status)))));
 
-    StudentCourse course1 = new StudentCourse(101, "1", "Javaコース", null, null);
-    StudentCourse course2 = new StudentCourse(102, "2", "AWSコース", null, null);
-    List<StudentCourse> allCourses = List.of(course1, course2);
+    when(repository.findStudentDetailsByStatus(status)).thenReturn(expectedDetails);
 
-    StudentApplicationStatus status1 = new StudentApplicationStatus(1, 101, status);
-    StudentApplicationStatus status2 = new StudentApplicationStatus(2, 102, status);
-    List<StudentApplicationStatus> statusList = List.of(status1, status2);
+    List<StudentDetail> result = sut.findStudentsByStatus(status);
 
-    List<StudentDetail> expectedDetails = List.of(new StudentDetail());
+    assertEquals(expectedDetails, result);
+    verify(repository).findStudentDetailsByStatus(status);
+    verifyNoMoreInteractions(repository);
+    verifyNoInteractions(converter);
+  }
+
+  @Test
+  void ページ検索で次のページがある場合は最後の受講生IDが次のカーソルになること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    StudentDetail studentDetail1 = new StudentDetail(new Student("3", "田中太郎", "タナカタロウ",
+        "タロ", "taro@example.com", "東京", 25, "男性", "", false), List.of(), List.of());
+    StudentDetail studentDetail2 = new StudentDetail(new Student("5", "山本彩夏", "ヤマモトアヤカ",
+        "アヤ", "aya@example.com", "東京", 25, "女性", "", false), List.of(), List.of());
+    StudentDetail studentDetail3 = new StudentDetail(new Student("8", "鈴木一郎", "スズキイチロウ",
+        "イチ", "ichiro@example.com", "大阪", 30, "男性", "", false), List.of(), List.of());
+
+    when(repository.findStudentDetailPage(condition, 2, 3)).thenReturn(
+        List.of(studentDetail1, studentDetail2, studentDetail3));
+
+    StudentDetailPage actual = sut.searchStudentPage(condition, 2, 2);
+
+    assertEquals(List.of(studentDetail1, studentDetail2), actual.getContent());
+    assertEquals(5, actual.getNextCursor());
+    verify(repository, times(1)).findStudentDetailPage(condition, 2, 3);
+    verifyNoMoreInteractions(repository);
+    verifyNoInteractions(converter);
+  }
 
-    when(repository.search()).thenReturn(allStudents);
-    when(repository.searchStudentCourseList()).thenReturn(allCourses);
-    when(repository.findStudentsByStatus(status)).thenReturn(statusList);
-    when(converter.convertStudentDetails(anyList(), anyList(), anyList()))
-        .thenReturn(expectedDetails);
+  @Test
+  void ページ検索で最後のページの場合は次のカーソルがnullになること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setSex("女性");
+    StudentDetail studentDetail = new StudentDetail(new Student("5", "山本彩夏", "ヤマモトアヤカ",
+        "アヤ", "aya@example.com", "東京", 25, "女性", "", false), List.of(), List.of());
 
-    List<StudentDetail> result = sut.findStudentsByStatus(status);
+    when(repository.findStudentDetailPage(condition, 0, 11)).thenReturn(List.of(studentDetail));
 
-    assertEquals(expectedDetails, result);
-    verify(repository).search();
-    verify(repository).searchStudentCourseList();
-    verify(repository).findStudentsByStatus(status);
-    verify(converter).convertStudentDetails(anyList(), anyList(), anyList());
+    StudentDetailPage actual = sut.searchStudentPage(condition, 0, 10);
+
+    assertEquals(List.of(studentDetail), actual.getContent());
+    assertNull(actual.getNextCursor());
+  }
+
+  @Test
+  void ページ検索でスナップショットが有効かつフリガナの条件のみの場合はフリガナの索引から検索すること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setKanaPrefix("タナカ");
+    StudentDetail studentDetail = new StudentDetail(getStudent(), getStudentCourses(),
+        getStudentApplicationStatuses());
+    when(snapshot.isEnabled()).thenReturn(true);
+    when(snapshot.current()).thenReturn(StudentSnapshot.of(List.of(studentDetail)));
+
+    StudentDetailPage actual = sut.searchStudentPage(condition, 0, 10);
+
+    assertEquals(List.of(studentDetail), actual.getContent());
+    assertNull(actual.getNextCursor());
+    verifyNoInteractions(repository);
+  }
+
+  @Test
+  void ページ検索で不正な申込状況を指定した場合は検索を行わず例外を発生させること() {
+    StudentSearchCondition condition = new StudentSearchCondition();
+    condition.setStatus("退会");
+
+    StudentNotFoundException exception = assertThrows(StudentNotFoundException.class,
+        () -> sut.searchStudentPage(condition, 0, 100));
+
+    assertEquals("適切な申し込み状況を入力してください。", exception.getMessage());
+    verifyNoInteractions(repository);
+  }
+
+  @Test
+  void 人数の集計でスナップショットが無効な場合はリポジトリで数えること() {
+    StudentCountCondition condition = new StudentCountCondition();
+    condition.setSexes(List.of("女性"));
+    when(repository.countStudents(condition)).thenReturn(12L);
+
+    assertEquals(12L, sut.countStudents(condition));
+  }
+
+  @Test
+  void 人数の集計でスナップショットが有効な場合はリポジトリを呼び出さずに数えること() {
+    StudentCountCondition condition = new StudentCountCondition();
+    condition.setCourseNames(List.of("Javaコース"));
+    when(snapshot.isEnabled()).thenReturn(true);
+    when(snapshot.current()).thenReturn(StudentSnapshot.of(List.of(
+        new StudentDetail(getStudent(), getStudentCourses(), getStudentApplicationStatuses()))));
+
+    assertEquals(1L, sut.countStudents(condition));
+    verifyNoInteractions(repository);
+  }
+
+  @Test
+  void 人数の集計で不正な申込状況を指定した場合は例外を発生させること() {
+    StudentCountCondition condition = new StudentCountCondition();
+    condition.setStatuses(List.of("受講中", "退会"));
+
+    assertThatThrownBy(() -> sut.countStudents(condition))
+        .isInstanceOf(StudentNotFoundException.class)
+        .hasMessage("適切な申し込み状況を入力してください。");
+    verifyNoInteractions(repository);
   }
 
   @Test
@@ -0,0 +1,135 @@
+package raisetech.StudentManagement.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import raisetech.StudentManagement.config.CacheConfig;
+import raisetech.StudentManagement.domain.StudentDetail;
+
+// コネクションプール（HikariCP）を経由させるため、組み込みデータベースへの置き換えは行わずにインメモリのH2へ接続する
+@SpringBootTest(properties =
+    "spring.datasource.url=jdbc:h2:mem:virtual-thread;DB_CLOSE_DELAY=-1;MODE=MySQL")
+class StudentServiceVirtualThreadTest {
+
+  private static final int REQUESTS = 500;
+  private static final int ROUNDS = 20;
+  private static final int STUDENTS = 5;
+  private static final LocalDateTime FROM = LocalDateTime.of(2023, 4, 1, 0, 0);
+  private static final LocalDateTime TO = LocalDateTime.of(2024, 12, 31, 23, 59);
+
+  @Autowired
+  private StudentService sut;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Autowired
+  private CacheManager cacheManager;
+
+  @Test
+  void 仮想スレッドで同時に検索してもコネクションプールの取得で仮想スレッドがピン留めされないこと()
+      throws Exception {
+    assertThat(dataSource).isInstanceOf(HikariDataSource.class);
+    List<StudentDetail> expected = sut.findStudentsByCourseStartDateRange(FROM, TO);
+
+    List<RecordedEvent> pinnedInPool = recordPinnedEvents(() -> {
+      try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+        runRequests(virtualThreads, expected);
+      }
+    }).stream()
+        .filter(event -> event.getStackTrace().getFrames().stream()
+            .anyMatch(frame -> frame.getMethod().getType().getName()
+                .startsWith("com.zaxxer.hikari")))
+        .toList();
+    assertThat(pinnedInPool).isEmpty();
+  }
+
+  @Test
+  void 受講生詳細の検索でキャッシュの読み込み中に仮想スレッドがピン留めされないこと() throws Exception {
+    Cache cache = cacheManager.getCache(CacheConfig.STUDENT_DETAIL_CACHE);
+
+    List<RecordedEvent> pinned = recordPinnedEvents(() -> {
+      try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+        for (int round = 0; round < ROUNDS; round++) {
+          cache.clear();
+          // 同じIDへの同時アクセスを含めて、キャッシュの読み込みと読み込み完了の待機を発生させる
+          List<Future<StudentDetail>> futures = new ArrayList<>();
+          for (int i = 0; i < REQUESTS / ROUNDS; i++) {
+            String id = String.valueOf(i % STUDENTS + 1);
+            futures.add(virtualThreads.submit(() -> sut.searchStudent(id)));
+          }
+          for (Future<StudentDetail> future : futures) {
+            assertThat(future.get(30, TimeUnit.SECONDS)).isNotNull();
+          }
+        }
+      }
+    });
+
+    // 同期モードのキャッシュではConcurrentHashMap.computeのモニタを保持したままデータベースの応答を待つ
+    assertThat(pinned)
+        .filteredOn(event -> event.getStackTrace().getFrames().stream()
+            .anyMatch(frame -> frame.getMethod().getType().getName()
+                .equals(ConcurrentHashMap.class.getName())))
+        .isEmpty();
+  }
+
+  /**
+   * 処理の実行中に発生した仮想スレッドのピン留めのイベント（スタックトレース付き）を記録して返します。
+   *
+   * @param action 記録する処理
+   * @return ピン留めのイベントのリスト
+   */
+  private List<RecordedEvent> recordPinnedEvents(ThrowingRunnable action) throws Exception {
+    Path file = Files.createTempFile("virtual-thread-pinned", ".jfr");
+    try {
+      try (Recording recording = new Recording()) {
+        recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+        recording.start();
+        action.run();
+        recording.stop();
+        recording.dump(file);
+      }
+      return RecordingFile.readAllEvents(file).stream()
+          .filter(event -> event.getStackTrace() != null)
+          .toList();
+    } finally {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  private interface ThrowingRunnable {
+
+    void run() throws Exception;
+  }
+
+  private void runRequests(ExecutorService executor, List<StudentDetail> expected)
+      throws Exception {
+    List<Future<List<StudentDetail>>> futures = new ArrayList<>(REQUESTS);
+    for (int i = 0; i < REQUESTS; i++) {
+      futures.add(executor.submit(() -> sut.findStudentsByCourseStartDateRange(FROM, TO)));
+    }
+    for (Future<List<StudentDetail>> future : futures) {
+      assertThat(future.get(30, TimeUnit.SECONDS)).containsExactlyInAnyOrderElementsOf(expected);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package raisetech.StudentManagement.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.data.StudentApplicationStatus;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StatusTransitionRequest;
+import raisetech.StudentManagement.domain.StudentChangedEvent;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StudentSnapshotServiceTest {
+
+  @Mock
+  private StudentRepository repository;
+
+  private StudentSnapshotService sut;
+
+  @BeforeEach
+  void before() {
+    sut = new StudentSnapshotService(repository, true);
+  }
+
+  @Test
+  void 全件の読み込み中に受け取った変更は読み込みの完了後に読み直して反映されること() {
+    StudentChangedEvent event = new StudentChangedEvent(List.of("1"), List.of(), null);
+    when(repository.searchStudentDetailList()).thenAnswer(invocation -> {
+      // 全件の取得が終わった後にコミットされた更新のイベントを、読み込み中に受け取る
+      sut.onStudentChanged(event);
+      return List.of(studentDetail("1", 25));
+    });
+    when(repository.findStudentDetailsByIds(List.of("1")))
+        .thenReturn(List.of(studentDetail("1", 26)));
+
+    sut.refresh();
+
+    assertThat(sut.isEnabled()).isTrue();
+    assertThat(sut.current().findById("1").getStudent().getAge()).isEqualTo(26);
+  }
+
+  @Test
+  void 読み込み後に受け取った変更は変更された受講生だけが読み直されること() {
+    when(repository.searchStudentDetailList())
+        .thenReturn(List.of(studentDetail("1", 25), studentDetail("2", 30)));
+    sut.refresh();
+    when(repository.findStudentDetailsByIds(List.of("2")))
+        .thenReturn(List.of(studentDetail("2", 31)));
+
+    sut.onStudentChanged(new StudentChangedEvent(List.of("2", "2"), List.of(), null));
+
+    assertThat(sut.current().findById("1").getStudent().getAge()).isEqualTo(25);
+    assertThat(sut.current().findById("2").getStudent().getAge()).isEqualTo(31);
+  }
+
+  @Test
+  void 読み込み前に受け取った変更は反映されず読み直しも行われないこと() {
+    sut.onStudentChanged(new StudentChangedEvent(List.of("1"), List.of(), null));
+
+    assertThat(sut.isEnabled()).isFalse();
+    verify(repository, never()).findStudentDetailsByIds(ArgumentMatchers.anyList());
+  }
+
+  @Test
+  void 申込状況の一括変更は変更前の申込状況の対象のコースを持つ受講生だけが読み直されること() {
+    when(repository.searchStudentDetailList()).thenReturn(List.of(
+        studentDetail("1", 1, "Javaコース", "仮申込"),
+        studentDetail("2", 2, "Javaコース", "本申込"),
+        studentDetail("3", 3, "AWSコース", "仮申込")));
+    sut.refresh();
+    when(repository.findStudentDetailsByIds(List.of("1")))
+        .thenReturn(List.of(studentDetail("1", 1, "Javaコース", "本申込")));
+
+    sut.onStudentChanged(new StudentChangedEvent(
+        new StatusTransitionRequest("Javaコース", List.of(), "仮申込", "本申込")));
+
+    verify(repository).findStudentDetailsByIds(List.of("1"));
+    assertThat(sut.current().findByStatus("本申込"))
+        .extracting(detail -> detail.getStudent().getId())
+        .containsExactly("1", "2");
+  }
+
+  private static StudentDetail studentDetail(String id, int courseId, String courseName,
+      String status) {
+    return new StudentDetail(studentDetail(id, 25).getStudent(),
+        List.of(new StudentCourse(courseId, id, courseName, null, null)),
+        List.of(new StudentApplicationStatus(courseId, courseId, status)));
+  }
+
+  private static StudentDetail studentDetail(String id, int age) {
+    return new StudentDetail(
+        new Student(id, "受講生", "ジュコウセイ", null, id + "@example.com", "東京", age, "男性",
+            null, false),
+        List.of(), List.of());
+  }
+}
@@ -0,0 +1,341 @@
+package raisetech.StudentManagement.snapshot;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.data.StudentApplicationStatus;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StudentCountCondition;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.domain.StudentDetailPage;
+
+class StudentSnapshotTest {
+
+  private final StudentSnapshot sut = StudentSnapshot.of(List.of(
+      studentDetail("2", "鈴木一郎", "スズキイチロウ", 30, "男性",
+          course(3, "2", "AWSコース", LocalDateTime.of(2024, 5, 1, 0, 0)),
+          status(3, 3, "受講中")),
+      studentDetail("1", "山田太郎", "ヤマダタロウ", 25, "男性",
+          course(1, "1", "Javaコース", LocalDateTime.of(2024, 4, 1, 0, 0)),
+          status(1, 1, "仮申込"),
+          course(2, "1", "AWSコース", LocalDateTime.of(2024, 6, 1, 0, 0)),
+          status(2, 2, "受講中")),
+      studentDetail("3", "鈴木花子", "スズキハナコ", 22, "女性",
+          course(4, "3", "Javaコース", LocalDateTime.of(2024, 7, 1, 0, 0)),
+          status(4, 4, "本申込"))));
+
+  @Test
+  void 全件が受講生ID順に取得できること() {
+    assertThat(sut.findAll())
+        .extracting(detail -> detail.getStudent().getId())
+        .containsExactly("1", "2", "3");
+    assertThat(sut.size()).isEqualTo(3);
+  }
+
+  @Test
+  void IDで受講生詳細が取得でき存在しない場合はnullになること() {
+    assertThat(sut.findById("1").getStudentCourseList()).hasSize(2);
+    assertThat(sut.findById("99")).isNull();
+    assertThat(sut.findById("abc")).isNull();
+  }
+
+  @Test
+  void フリガナの先頭の複数文字で検索できること() {
+    assertThat(sut.findByKanaPrefix("スズキ"))
+        .extracting(detail -> detail.getStudent().getId())
+        .containsExactly("2", "3");
+    assertThat(sut.findByKanaPrefix("スズキハ"))
+        .extracting(detail -> detail.getStudent().getId())
+        .containsExactly("3");
+    assertThat(sut.findByKanaPrefix("タ")).isEmpty();
+  }
+
+  @Test
+  void フリガナの前方一致検索で受講生ID順に１ページ分取得でき次のページのカーソルが設定されること() {
+    StudentDetailPage first = sut.findPageByKanaPrefix("スズキ", 0, 1);
+
+    assertThat(first.getContent()).extracting(detail -> detail.getStudent().getId())
+        .containsExactly("2");
+    assertThat(first.getNextCursor()).isEqualTo(2);
+
+    StudentDetailPage second = sut.findPageByKanaPrefix("スズキ", first.getNextCursor(), 1);
+
+    assertThat(second.getContent()).extracting(detail -> detail.getStudent().getId())
+        .containsExactly("3");
+    assertThat(second.getNextCursor()).isNull();
+  }
+
+  @Test
+  void フリガナの前方一致のページを順にたどった結果がすべての受講生を順に調べた結果と一致すること() {
+    Random random = new Random(19);
+    String[] kanaNames = {"スズキ", "スズカ", "スガワラ", "サトウ"};
+    List<StudentDetail> details = IntStream.rangeClosed(1, 3000)
+        .mapToObj(id -> studentDetail(String.valueOf(id), "受講生",
+            kanaNames[random.nextInt(kanaNames.length)] + id, 20, "男性"))
+        .toList();
+    StudentSnapshot snapshot = StudentSnapshot.of(details);
+
+    for (String prefix : List.of("ス", "スズ", "スズキ", "スガ", "サ", "タ")) {
+      List<String> expected = details.stream()
+          .filter(detail -> detail.getStudent().getKanaName().startsWith(prefix))
+          .map(detail -> detail.getStudent().getId())
+          .toList();
+      List<String> actual = new ArrayList<>();
+      Integer cursor = 0;
+      while (cursor != null) {
+        StudentDetailPage page = snapshot.findPageByKanaPrefix(prefix, cursor, 100);
+        page.getContent().forEach(detail -> actual.add(detail.getStudent().getId()));
+        cursor = page.getNextCursor();
+      }
+
+      assertThat(actual).as(prefix).containsExactlyElementsOf(expected);
+      assertThat(snapshot.findByKanaPrefix(prefix))
+          .extracting(detail -> detail.getStudent().getId())
+          .as(prefix)
+          .containsExactlyElementsOf(expected);
+    }
+  }
+
+  @Test
+  void 年齢の範囲と性別で検索できること() {
+    assertThat(sut.findByAgeRange(22, 25))
+        .extracting(detail -> detail.getStudent().getId())
+        .containsExactly("1", "3");
+    assertThat(sut.findByAgeRange(40, 30)).isEmpty();
+    assertThat(sut.findBySex("男性"))
+        .extracting(detail -> detail.getStudent().getId())
+        .containsExactly("1", "2");
+  }
+
+  @Test
+  void コース名で検索した場合は該当するコースと申込状況のみが設定されること() {
+    List<StudentDetail> actual = sut.findByCourseName("AWSコース");
+
+    assertThat(actual).extracting(detail -> detail.getStudent().getId())
+        .containsExactly("1", "2");
+    assertThat(actual.getFirst().getStudentCourseList())
+        .extracting(StudentCourse::getId)
+        .containsExactly(2);
+    assertThat(actual.getFirst().getStudentApplicationStatus())
+        .extracting(StudentApplicationStatus::getId)
+        .containsExactly(2);
+  }
+
+  @Test
+  void 受講開始日の範囲と申込状況で検索できること() {
+    assertThat(sut.findByCourseStartRange(LocalDateTime.of(2024, 4, 1, 0, 0),
+        LocalDateTime.of(2024, 5, 1, 0, 0)))
+        .flatExtracting(StudentDetail::getStudentCourseList)
+        .extracting(StudentCourse::getId)
+        .containsExactly(1, 3);
+    assertThat(sut.findByStatus("受講中"))
+        .flatExtracting(StudentDetail::getStudentApplicationStatus)
+        .extracting(StudentApplicationStatus::getId)
+        .containsExactly(2, 3);
+  }
+
+  @Test
+  void 受講期間が指定期間と重なるコースと受講終了日が指定日時より前のコースで検索できること() {
+    assertThat(sut.findByCourseActiveRange(LocalDateTime.of(2025, 4, 15, 0, 0),
+        LocalDateTime.of(2025, 5, 15, 0, 0)))
+        .flatExtracting(StudentDetail::getStudentCourseList)
+        .extracting(StudentCourse::getId)
+        .containsExactly(2, 3, 4);
+    assertThat(sut.findByCourseEndBefore(LocalDateTime.of(2025, 5, 2, 0, 0)))
+        .flatExtracting(StudentDetail::getStudentCourseList)
+        .extracting(StudentCourse::getId)
+        .containsExactly(1, 3);
+    assertThat(sut.findByCourseEndBefore(LocalDateTime.of(2025, 4, 1, 0, 0))).isEmpty();
+  }
+
+  @Test
+  void 受講期間の区間検索の結果がすべてのコースを順に調べた結果と一致すること() {
+    Random random = new Random(20);
+    LocalDateTime base = LocalDateTime.of(2023, 1, 1, 0, 0);
+    List<StudentCourse> courses = IntStream.rangeClosed(1, 500)
+        .mapToObj(id -> {
+          LocalDateTime startAt = base.plusDays(random.nextInt(730));
+          return new StudentCourse(id, String.valueOf(id % 50 + 1), "Javaコース", startAt,
+              startAt.plusDays(random.nextInt(400)));
+        })
+        .toList();
+    StudentSnapshot snapshot = StudentSnapshot.of(IntStream.rangeClosed(1, 50)
+        .mapToObj(id -> new StudentDetail(
+            new Student(String.valueOf(id), "受講生", "ジュコウセイ", null, null, null, 20, "男性",
+                null, false),
+            courses.stream().filter(course -> course.getStudentId().equals(String.valueOf(id)))
+                .toList(),
+            List.of()))
+        .toList());
+
+    for (int i = 0; i < 100; i++) {
+      LocalDateTime from = base.plusDays(random.nextInt(1200));
+      LocalDateTime to = from.plusDays(random.nextInt(60));
+
+      assertThat(snapshot.findByCourseActiveRange(from, to))
+          .flatExtracting(StudentDetail::getStudentCourseList)
+          .containsExactlyInAnyOrderElementsOf(courses.stream()
+              .filter(course -> !course.getCourseStartAt().isAfter(to)
+                  && !course.getCourseEndAt().isBefore(from))
+              .toList());
+      assertThat(snapshot.findByCourseEndBefore(from))
+          .flatExtracting(StudentDetail::getStudentCourseList)
+          .containsExactlyInAnyOrderElementsOf(courses.stream()
+              .filter(course -> course.getCourseEndAt().isBefore(from))
+              .toList());
+    }
+  }
+
+  @Test
+  void 同じ項目の値はOR_異なる項目はANDとして受講生の人数が数えられること() {
+    assertThat(sut.count(countCondition(List.of(), List.of(), List.of(), List.of())))
+        .isEqualTo(3);
+    assertThat(sut.count(countCondition(List.of("男性"), List.of(), List.of(), List.of())))
+        .isEqualTo(2);
+    assertThat(sut.count(countCondition(List.of("男性", "女性"), List.of("東京"), List.of(),
+        List.of()))).isEqualTo(3);
+    assertThat(sut.count(countCondition(List.of("女性"), List.of(), List.of("AWSコース"),
+        List.of()))).isEqualTo(0);
+    assertThat(sut.count(countCondition(List.of(), List.of("大阪"), List.of(), List.of())))
+        .isEqualTo(0);
+  }
+
+  @Test
+  void コース名と申込状況の条件は同じコースで両方を満たす受講生だけが数えられること() {
+    // 山田太郎はJavaコース（仮申込）とAWSコース（受講中）を持つが、受講中のJavaコースは持たない
+    assertThat(sut.count(countCondition(List.of(), List.of(), List.of("Javaコース"),
+        List.of("受講中")))).isEqualTo(0);
+    assertThat(sut.count(countCondition(List.of(), List.of(), List.of("AWSコース"),
+        List.of("受講中")))).isEqualTo(2);
+    assertThat(sut.count(countCondition(List.of(), List.of(), List.of("Javaコース"),
+        List.of("仮申込", "本申込")))).isEqualTo(2);
+  }
+
+  @Test
+  void 受講生を追加_置き換えた新しいスナップショットが作成され元のスナップショットは変わらないこと() {
+    StudentSnapshot updated = sut.withStudents(List.of(
+        studentDetail("2", "鈴木一郎", "スズキイチロウ", 31, "男性",
+            course(3, "2", "Javaコース", LocalDateTime.of(2024, 5, 1, 0, 0)),
+            status(3, 3, "受講終了")),
+        studentDetail("4", "佐藤良子", "サトウリョウコ", 28, "女性")));
+
+    assertThat(updated.size()).isEqualTo(4);
+    assertThat(updated.findById("2").getStudent().getAge()).isEqualTo(31);
+    assertThat(updated.findByCourseName("AWSコース"))
+        .extracting(detail -> detail.getStudent().getId())
+        .containsExactly("1");
+    assertThat(updated.findByStatus("受講終了"))
+        .extracting(detail -> detail.getStudent().getId())
+        .containsExactly("2");
+    assertThat(updated.findByKanaPrefix("サ"))
+        .extracting(detail -> detail.getStudent().getId())
+        .containsExactly("4");
+
+    assertThat(sut.size()).isEqualTo(3);
+    assertThat(sut.findById("2").getStudent().getAge()).isEqualTo(30);
+  }
+
+  @Test
+  void 受講生の追加_置き換えを繰り返したスナップショットの検索結果が全件から作成したスナップショットと一致すること() {
+    Random random = new Random(18);
+    Map<Integer, StudentDetail> latest = new TreeMap<>();
+    StudentSnapshot incremental = StudentSnapshot.empty();
+
+    for (int round = 0; round < 30; round++) {
+      List<StudentDetail> changed = new ArrayList<>();
+      for (int i = 0; i < 40; i++) {
+        StudentDetail detail = randomStudentDetail(random, random.nextInt(300) + 1);
+        changed.add(detail);
+        latest.put(Integer.parseInt(detail.getStudent().getId()), detail);
+      }
+      incremental = incremental.withStudents(changed);
+    }
+    StudentSnapshot rebuilt = StudentSnapshot.of(latest.values());
+    LocalDateTime from = LocalDateTime.of(2024, 3, 1, 0, 0);
+    LocalDateTime to = LocalDateTime.of(2024, 9, 30, 0, 0);
+
+    assertThat(incremental.size()).isEqualTo(latest.size());
+    assertThat(incremental.findAll()).containsExactlyElementsOf(rebuilt.findAll());
+    for (String prefix : List.of("ア", "アイ", "カ", "サシ")) {
+      assertThat(incremental.findByKanaPrefix(prefix)).as(prefix)
+          .containsExactlyElementsOf(rebuilt.findByKanaPrefix(prefix));
+    }
+    assertThat(incremental.findByAgeRange(20, 30))
+        .containsExactlyElementsOf(rebuilt.findByAgeRange(20, 30));
+    assertThat(incremental.findBySex("女性")).containsExactlyElementsOf(rebuilt.findBySex("女性"));
+    assertThat(incremental.findByCourseName("Javaコース"))
+        .containsExactlyElementsOf(rebuilt.findByCourseName("Javaコース"));
+    assertThat(incremental.findByStatus("受講中"))
+        .containsExactlyElementsOf(rebuilt.findByStatus("受講中"));
+    assertThat(incremental.findByCourseStartRange(from, to))
+        .containsExactlyElementsOf(rebuilt.findByCourseStartRange(from, to));
+    assertThat(incremental.findByCourseActiveRange(from, to))
+        .containsExactlyElementsOf(rebuilt.findByCourseActiveRange(from, to));
+    assertThat(incremental.findByCourseEndBefore(to))
+        .containsExactlyElementsOf(rebuilt.findByCourseEndBefore(to));
+    StudentCountCondition condition = countCondition(List.of("男性"), List.of(),
+        List.of("AWSコース"), List.of("受講中", "受講終了"));
+    assertThat(incremental.count(condition)).isEqualTo(rebuilt.count(condition));
+  }
+
+  private static StudentDetail randomStudentDetail(Random random, int id) {
+    String[] kanaNames = {"アイダ", "アオキ", "カトウ", "サシハラ", "サトウ"};
+    String[] courseNames = {"Javaコース", "AWSコース", "デザインコース"};
+    String[] statuses = {"仮申込", "本申込", "受講中", "受講終了"};
+    List<Object> coursesAndStatuses = new ArrayList<>();
+    for (int i = 0; i < random.nextInt(3); i++) {
+      // コースIDは受講生ごとに重ならないようにする
+      int courseId = id * 10 + i;
+      coursesAndStatuses.add(course(courseId, String.valueOf(id),
+          courseNames[random.nextInt(courseNames.length)],
+          LocalDateTime.of(2024, 1, 1, 0, 0).plusDays(random.nextInt(365))));
+      coursesAndStatuses.add(status(courseId, courseId, statuses[random.nextInt(statuses.length)]));
+    }
+    return studentDetail(String.valueOf(id), "受講生",
+        kanaNames[random.nextInt(kanaNames.length)], 18 + random.nextInt(30),
+        random.nextBoolean() ? "男性" : "女性", coursesAndStatuses.toArray());
+  }
+
+  private static StudentDetail studentDetail(String id, String name, String kanaName, int age,
+      String sex, Object... coursesAndStatuses) {
+    Student student = new Student(id, name, kanaName, null, id + "@example.com", "東京", age,
+        sex, null, false);
+    List<StudentCourse> courses = Arrays.stream(coursesAndStatuses)
+        .filter(StudentCourse.class::isInstance)
+        .map(StudentCourse.class::cast)
+        .toList();
+    List<StudentApplicationStatus> statuses = Arrays.stream(coursesAndStatuses)
+        .filter(StudentApplicationStatus.class::isInstance)
+        .map(StudentApplicationStatus.class::cast)
+        .toList();
+    return new StudentDetail(student, courses, statuses);
+  }
+
+  private static StudentCountCondition countCondition(List<String> sexes, List<String> areas,
+      List<String> courseNames, List<String> statuses) {
+    StudentCountCondition condition = new StudentCountCondition();
+    condition.setSexes(sexes);
+    condition.setAreas(areas);
+    condition.setCourseNames(courseNames);
+    condition.setStatuses(statuses);
+    return condition;
+  }
+
+  private static StudentCourse course(int id, String studentId, String courseName,
+      LocalDateTime startAt) {
+    return new StudentCourse(id, studentId, courseName, startAt, startAt.plusYears(1));
+  }
+
+  private static StudentApplicationStatus status(int id, int courseId, String status) {
+    return new StudentApplicationStatus(id, courseId, status);
+  }
+}
@@ -0,0 +1,162 @@
+package raisetech.StudentManagement.statistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import raisetech.StudentManagement.data.Student;
+import raisetech.StudentManagement.data.StudentApplicationStatus;
+import raisetech.StudentManagement.data.StudentCourse;
+import raisetech.StudentManagement.domain.StatusTransitionRequest;
+import raisetech.StudentManagement.domain.StudentChangedEvent;
+import raisetech.StudentManagement.domain.StudentDetail;
+import raisetech.StudentManagement.domain.StudentGroupCount;
+import raisetech.StudentManagement.domain.StudentStatistics;
+import raisetech.StudentManagement.repository.StudentRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StudentStatisticsServiceTest {
+
+  @Mock
+  private StudentRepository repository;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private StudentStatisticsService sut;
+
+  @BeforeEach
+  void before() {
+    sut = new StudentStatisticsService(repository, transactionManager);
+  }
+
+  @Test
+  void 初回の取得時のみデータベースで集計されること() {
+    stubInitialCounts();
+
+    StudentStatistics first = sut.getStatistics();
+    StudentStatistics second = sut.getStatistics();
+
+    assertThat(first).isEqualTo(second);
+    assertThat(first.getStudentsByCourse()).isEqualTo(Map.of("Javaコース", 2L));
+    assertThat(first.getStudentsByCourseAndStatus())
+        .isEqualTo(Map.of("Javaコース", Map.of("仮申込", 2L)));
+    assertThat(first.getStudentsByArea()).isEqualTo(Map.of("東京", 1L, "大阪", 1L));
+    verify(repository, times(1)).countStudentsByCourseName();
+    verify(repository, times(1)).countStudentsByCourseNameAndStatus();
+    verify(repository, times(1)).countStudentsByArea();
+  }
+
+  @Test
+  void 更新のイベントで変更前の分が差し引かれ変更後の分が足し込まれること() {
+    stubInitialCounts();
+    sut.getStatistics();
+
+    // 大阪の受講生がJavaコース（仮申込）から東京に移り、同じコースで受講中になった
+    StudentDetail previous = studentDetail("2", "大阪", "Javaコース", "仮申込");
+    StudentDetail updated = studentDetail("2", "東京", "Javaコース", "受講中");
+
+    sut.onStudentChanged(new StudentChangedEvent(List.of("2"), List.of(previous),
+        List.of(updated)));
+
+    StudentStatistics actual = sut.getStatistics();
+    assertThat(actual.getStudentsByCourse()).isEqualTo(Map.of("Javaコース", 2L));
+    assertThat(actual.getStudentsByCourseAndStatus())
+        .isEqualTo(Map.of("Javaコース", Map.of("仮申込", 1L, "受講中", 1L)));
+    assertThat(actual.getStudentsByArea()).isEqualTo(Map.of("東京", 2L));
+    verify(repository, times(1)).countStudentsByCourseName();
+    verify(repository, never()).findStudentDetailsByIds(anyList());
+  }
+
+  @Test
+  void 申込状況の一括変更のイベントでは次の取得時に集計し直されること() {
+    stubInitialCounts();
+    sut.getStatistics();
+    when(repository.countStudentsByCourseNameAndStatus())
+        .thenReturn(List.of(new StudentGroupCount("Javaコース", "本申込", 2)));
+
+    sut.onStudentChanged(new StudentChangedEvent(
+        new StatusTransitionRequest("Javaコース", List.of(), "仮申込", "本申込")));
+
+    assertThat(sut.getStatistics().getStudentsByCourseAndStatus())
+        .isEqualTo(Map.of("Javaコース", Map.of("本申込", 2L)));
+    verify(repository, times(2)).countStudentsByCourseName();
+  }
+
+  @Test
+  void 変更後の受講生詳細が分からないイベントでは次の取得時に集計し直されること() {
+    stubInitialCounts();
+    sut.getStatistics();
+
+    sut.onStudentChanged(new StudentChangedEvent(List.of("3"), List.of(), null));
+    sut.getStatistics();
+
+    verify(repository, times(2)).countStudentsByCourseName();
+  }
+
+  @Test
+  void 集計前のイベントは無視されること() {
+    sut.onStudentChanged(new StudentChangedEvent(List.of("1"), List.of(),
+        List.of(studentDetail("1", "東京", "Javaコース", "仮申込"))));
+
+    verifyNoInteractions(repository);
+  }
+
+  @Test
+  void トランザクション内のイベントはコミット後にのみ反映されること() {
+    stubInitialCounts();
+    sut.getStatistics();
+    StudentDetail registered = studentDetail("3", "東京", "Javaコース", "仮申込");
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      sut.onStudentChanged(new StudentChangedEvent(List.of("3"), List.of(),
+          List.of(registered)));
+      sut.onStudentChanged(new StudentChangedEvent(List.of("3"), List.of(),
+          List.of(registered)));
+      List<TransactionSynchronization> synchronizations =
+          TransactionSynchronizationManager.getSynchronizations();
+      assertThat(sut.getStatistics().getStudentsByCourse()).isEqualTo(Map.of("Javaコース", 2L));
+
+      synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+      synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertThat(sut.getStatistics().getStudentsByCourse()).isEqualTo(Map.of("Javaコース", 3L));
+    verify(repository, times(1)).countStudentsByCourseName();
+  }
+
+  private void stubInitialCounts() {
+    when(repository.countStudentsByCourseName())
+        .thenReturn(List.of(new StudentGroupCount("Javaコース", null, 2)));
+    when(repository.countStudentsByCourseNameAndStatus())
+        .thenReturn(List.of(new StudentGroupCount("Javaコース", "仮申込", 2)));
+    when(repository.countStudentsByArea()).thenReturn(List.of(
+        new StudentGroupCount("東京", null, 1), new StudentGroupCount("大阪", null, 1)));
+  }
+
+  private static StudentDetail studentDetail(String id, String area, String courseName,
+      String status) {
+    Student student = new Student(id, "鈴木一郎", "スズキイチロウ", null, id + "@example.com", area,
+        30, "男性", null, false);
+    return new StudentDetail(student,
+        List.of(new StudentCourse(1, id, courseName, null, null)),
+        List.of(new StudentApplicationStatus(1, 1, status)));
+  }
+}